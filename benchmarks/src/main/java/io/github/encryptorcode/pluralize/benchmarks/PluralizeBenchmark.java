@@ -0,0 +1,122 @@
+package io.github.encryptorcode.pluralize.benchmarks;
+
+import io.github.encryptorcode.pluralize.Pluralize;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every public entry point of {@link Pluralize}, for each workload of {@link Workloads}.
+ * <p>
+ * Each fork is a fresh JVM, so the custom rules added during setup never leak into another scenario.
+ * Run with {@code -prof gc} to report the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PluralizeBenchmark {
+
+    @Param({"testData", "zipfian", "fallThrough", "longTokens"})
+    public String workload;
+
+    /**
+     * Number of rules added on top of the built-in rules.
+     */
+    @Param({"0", "400"})
+    public int customRules;
+
+    private String[] words;
+    private int index;
+    private final StringBuilder out = new StringBuilder();
+    // The same words, encoded one after the other.
+    private ByteBuffer utf8;
+    private int[] offsets;
+    private ByteBuffer utf8Out;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Workloads.addCustomRules(customRules);
+        words = Workloads.words(workload);
+
+        offsets = new int[words.length + 1];
+        byte[][] encoded = new byte[words.length][];
+        for (int i = 0; i < words.length; i++) {
+            encoded[i] = words[i].getBytes(StandardCharsets.UTF_8);
+            offsets[i + 1] = offsets[i] + encoded[i].length;
+        }
+        utf8 = ByteBuffer.allocateDirect(offsets[words.length]);
+        int longest = 0;
+        for (byte[] word : encoded) {
+            utf8.put(word);
+            longest = Math.max(longest, word.length);
+        }
+        // Inflections only add a few characters.
+        utf8Out = ByteBuffer.allocateDirect(2 * longest + 64);
+    }
+
+    private String next() {
+        return words[index++ & (Workloads.SIZE - 1)];
+    }
+
+    @Benchmark
+    public String plural() {
+        return Pluralize.plural(next());
+    }
+
+    /**
+     * Same as {@link #plural()}, from and to UTF-8 buffers.
+     */
+    @Benchmark
+    public int pluralUtf8() {
+        int i = index++ & (Workloads.SIZE - 1);
+        utf8Out.clear();
+        Pluralize.plural(utf8, offsets[i], offsets[i + 1] - offsets[i], utf8Out);
+        return utf8Out.position();
+    }
+
+    @Benchmark
+    public String singular() {
+        return Pluralize.singular(next());
+    }
+
+    @Benchmark
+    public boolean isPlural() {
+        return Pluralize.isPlural(next());
+    }
+
+    @Benchmark
+    public boolean isSingular() {
+        return Pluralize.isSingular(next());
+    }
+
+    @Benchmark
+    public String pluralize() {
+        return Pluralize.pluralize(next(), index % 3, true);
+    }
+
+    /**
+     * Same as {@link #pluralize()}, with a primitive count and a reused builder.
+     */
+    @Benchmark
+    public int pluralizeInto() {
+        out.setLength(0);
+        Pluralize.pluralize(next(), index % 3, true, out);
+        return out.length();
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.encryptorcode.pluralize.benchmarks;
+
+import io.github.encryptorcode.pluralize.Pluralize;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the read path from 1 to all the available threads. With linear scaling the score of each
+ * benchmark, which JMH sums over its threads, grows with the number of threads up to the number of cores.
+ * <p>
+ * {@code readWhileWriting} adds a thread which keeps adding rules while three others read, to show what publishing
+ * new snapshots of the rules costs the readers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScalingBenchmark {
+
+    @Param({"zipfian", "fallThrough"})
+    public String workload;
+
+    private String[] words;
+    private int index;
+    private int rule;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        words = Workloads.words(workload);
+        // Threads don't walk the words in lock step.
+        index = (int) (Thread.currentThread().getId() * 4099);
+    }
+
+    private String next() {
+        return words[index++ & (Workloads.SIZE - 1)];
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String plural1() {
+        return Pluralize.plural(next());
+    }
+
+    @Benchmark
+    @Threads(2)
+    public String plural2() {
+        return Pluralize.plural(next());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String plural4() {
+        return Pluralize.plural(next());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String plural8() {
+        return Pluralize.plural(next());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String pluralMax() {
+        return Pluralize.plural(next());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean isPlural1() {
+        return Pluralize.isPlural(next());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean isPluralMax() {
+        return Pluralize.isPlural(next());
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(3)
+    public String reader() {
+        return Pluralize.plural(next());
+    }
+
+    /**
+     * Publishes a new snapshot per call, flipping the plural of one irregular word, so the rules keep the same size
+     * over the run.
+     */
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(1)
+    public void writer() {
+        Pluralize.addIrregularRule("scaling", "scalings" + (rule++ & 1));
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.encryptorcode.pluralize.benchmarks;
+
+import io.github.encryptorcode.pluralize.Pluralize;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup costs, like a CLI tool or a serverless function would see them.
+ * <p>
+ * Every measurement is a single call in a fresh JVM, so {@link Pluralize} is initialized by the benchmark itself,
+ * unless the {@link Initialized} state did it before. Many forks smooth out the noise of cold JVMs.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+    private static final String PLURALIZE = "io.github.encryptorcode.pluralize.Pluralize";
+
+    @State(Scope.Benchmark)
+    public static class Initialized {
+        @Setup(Level.Trial)
+        public void setUp() throws ClassNotFoundException {
+            Class.forName(PLURALIZE);
+        }
+    }
+
+    /**
+     * Class initialization alone.
+     */
+    @Benchmark
+    public Class<?> initialize() throws ClassNotFoundException {
+        return Class.forName(PLURALIZE);
+    }
+
+    @Benchmark
+    public String initializeAndPlural() {
+        return Pluralize.plural("apple");
+    }
+
+    @Benchmark
+    public String initializeAndSingular() {
+        return Pluralize.singular("apples");
+    }
+
+    @Benchmark
+    public String initializeAndBoth() {
+        return Pluralize.singular(Pluralize.plural("apple"));
+    }
+
+    /**
+     * First call latency, after class initialization.
+     */
+    @Benchmark
+    public String firstPlural(Initialized initialized) {
+        return Pluralize.plural("apple");
+    }
+
+    /**
+     * First call latency, after class initialization.
+     */
+    @Benchmark
+    public String firstSingular(Initialized initialized) {
+        return Pluralize.singular("apples");
+    }
+}
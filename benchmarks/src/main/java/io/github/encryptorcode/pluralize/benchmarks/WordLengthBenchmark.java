@@ -0,0 +1,60 @@
+package io.github.encryptorcode.pluralize.benchmarks;
+
+import io.github.encryptorcode.pluralize.Pluralize;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per word as words get longer, with {@link Workloads#padded(int)}. Rules anchored at the end are only matched
+ * on the tail of the word, so the scores should stay flat as the length grows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WordLengthBenchmark {
+
+    @Param({"8", "64", "512", "4096"})
+    public int length;
+
+    private String[] words;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        words = Workloads.padded(length);
+    }
+
+    private String next() {
+        return words[index++ & (Workloads.SIZE - 1)];
+    }
+
+    @Benchmark
+    public String plural() {
+        return Pluralize.plural(next());
+    }
+
+    @Benchmark
+    public String singular() {
+        return Pluralize.singular(next());
+    }
+
+    @Benchmark
+    public boolean isPlural() {
+        return Pluralize.isPlural(next());
+    }
+}
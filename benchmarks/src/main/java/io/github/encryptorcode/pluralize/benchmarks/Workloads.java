@@ -0,0 +1,173 @@
+package io.github.encryptorcode.pluralize.benchmarks;
+
+import io.github.encryptorcode.pluralize.Pluralize;
+import io.github.encryptorcode.pluralize.PluralizeTestData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static io.github.encryptorcode.pluralize.Pluralize.p;
+
+/**
+ * Words fed to the benchmarks. All of them are generated from a fixed seed, so runs are comparable.
+ */
+public final class Workloads {
+    // Power of two, so benchmarks can cycle through the words with a mask.
+    public static final int SIZE = 1 << 14;
+    private static final long SEED = 42;
+
+    private Workloads() {
+    }
+
+    /**
+     * Words of the given workload:
+     * <ul>
+     * <li>{@code testData} every singular and plural of {@link PluralizeTestData}, in order</li>
+     * <li>{@code zipfian} the same vocabulary, drawn with a Zipfian distribution like real-world traffic</li>
+     * <li>{@code fallThrough} words which don't match any rule but the last one</li>
+     * <li>{@code longTokens} hashes and concatenated identifiers of a few hundred characters</li>
+     * </ul>
+     */
+    public static String[] words(String workload) {
+        switch (workload) {
+            case "testData":
+                return fill(vocabulary());
+            case "zipfian":
+                return zipfian(vocabulary(), 1.0);
+            case "fallThrough":
+                return fallThrough();
+            case "longTokens":
+                return longTokens();
+            default:
+                throw new IllegalArgumentException("Unknown workload: " + workload);
+        }
+    }
+
+    /**
+     * Add hundreds of rules, like an application with a large domain specific vocabulary would.
+     * Most of them never match the benchmarked words, but they are evaluated before the built-in rules.
+     */
+    public static void addCustomRules(int count) {
+        for (int i = 0; i < count; i++) {
+            String stem = "dom" + Integer.toString(i, 36);
+            switch (i % 4) {
+                case 0:
+                    Pluralize.addPluralRule(p("(" + stem + ")(?:um|a)$"), "$1a");
+                    Pluralize.addSingularRule(p("(" + stem + ")a$"), "$1um");
+                    break;
+                case 1:
+                    Pluralize.addPluralRule(p("\\b(" + stem + "|" + stem + "x)$"), "$1en");
+                    Pluralize.addSingularRule(p("\\b(" + stem + "|" + stem + "x)en$"), "$1");
+                    break;
+                case 2:
+                    Pluralize.addIrregularRule(stem + "us", stem + "odes");
+                    break;
+                default:
+                    Pluralize.addUncountableRule(stem + "ware");
+                    break;
+            }
+        }
+    }
+
+    public static List<String> vocabulary() {
+        Set<String> words = new LinkedHashSet<>();
+        for (Map<String, String> tests : Arrays.asList(PluralizeTestData.BASIC_TESTS,
+                PluralizeTestData.PLURAL_TESTS, PluralizeTestData.SINGULAR_TESTS)) {
+            for (Map.Entry<String, String> entry : tests.entrySet()) {
+                words.add(entry.getKey());
+                words.add(entry.getValue());
+            }
+        }
+        return new ArrayList<>(words);
+    }
+
+    private static String[] fill(List<String> words) {
+        String[] result = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            result[i] = words.get(i % words.size());
+        }
+        return result;
+    }
+
+    private static String[] zipfian(List<String> words, double exponent) {
+        List<String> shuffled = new ArrayList<>(words);
+        Random random = new Random(SEED);
+        Collections.shuffle(shuffled, random);
+
+        double[] cumulative = new double[shuffled.size()];
+        double sum = 0;
+        for (int rank = 0; rank < cumulative.length; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+
+        String[] result = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            result[i] = shuffled.get(rank < 0 ? -rank - 1 : rank);
+        }
+        return result;
+    }
+
+    private static String[] fallThrough() {
+        String consonants = "bcdfgklmnprtvw";
+        Random random = new Random(SEED);
+        String[] result = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 4 + random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                word.append(j % 3 == 1 ? 'a' : consonants.charAt(random.nextInt(consonants.length())));
+            }
+            result[i] = word.toString();
+        }
+        return result;
+    }
+
+    /**
+     * Words of the vocabulary behind random letters, so all of them have the same length, or their own length when
+     * it is longer. Only the length of the words changes the cost, because the rules match the same ending.
+     */
+    public static String[] padded(int length) {
+        List<String> words = vocabulary();
+        Random random = new Random(SEED);
+        String[] result = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            String word = words.get(i % words.size());
+            StringBuilder padded = new StringBuilder();
+            while (padded.length() + word.length() < length) {
+                padded.append((char) ('a' + random.nextInt(26)));
+            }
+            result[i] = padded.append(word).toString();
+        }
+        return result;
+    }
+
+    private static String[] longTokens() {
+        String hex = "0123456789abcdef";
+        List<String> words = vocabulary();
+        Random random = new Random(SEED);
+        String[] result = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 256 + random.nextInt(768);
+            if (i % 2 == 0) {
+                while (word.length() < length) {
+                    word.append(hex.charAt(random.nextInt(hex.length())));
+                }
+            } else {
+                while (word.length() < length) {
+                    word.append(words.get(random.nextInt(words.size())));
+                }
+            }
+            result[i] = word.toString();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.encryptorcode.pluralize;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Inflects arrays of words with fork-join.
+ * <p>
+ * Arrays are split in half until a chunk is small enough to be inflected by a single thread. Within a chunk every
+ * distinct word is inflected once, because real-world batches repeat the same words over and over, and the shapes
+ * of all the words are classified at once by {@link CaseScanner}.
+ */
+final class BatchInflector extends RecursiveAction {
+    // Below this many words splitting costs more than it saves.
+    static final int THRESHOLD = 2048;
+
+    private final String[] words;
+    private final String[] results;
+    private final int from;
+    private final int to;
+    private final Inflection inflection;
+
+    private BatchInflector(String[] words, String[] results, int from, int to, Inflection inflection) {
+        this.words = words;
+        this.results = results;
+        this.from = from;
+        this.to = to;
+        this.inflection = inflection;
+    }
+
+    static void inflect(String[] words, String[] results, Inflection inflection) {
+        if (results.length < words.length) {
+            throw new IllegalArgumentException("Results can hold " + results.length + " words, but there are " +
+                    words.length);
+        }
+
+        BatchInflector task = new BatchInflector(words, results, 0, words.length, inflection);
+        if (words.length <= THRESHOLD) {
+            task.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= THRESHOLD) {
+            CaseShape[] shapes = new CaseShape[to - from];
+            CaseScanner.classify(words, from, to, shapes);
+            Map<String, String> inflected = new HashMap<>();
+            for (int i = from; i < to; i++) {
+                String result = inflected.get(words[i]);
+                if (result == null) {
+                    result = inflection.apply(words[i], shapes[i - from]);
+                    inflected.put(words[i], result);
+                }
+                results[i] = result;
+            }
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        invokeAll(new BatchInflector(words, results, from, middle, inflection),
+                new BatchInflector(words, results, middle, to, inflection));
+    }
+
+    /**
+     * Inflects a word whose shape is known.
+     */
+    interface Inflection {
+        String apply(String word, CaseShape shape);
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.encryptorcode.pluralize;
+
+/**
+ * Point in time statistics of the result cache of a {@link Pluralizer}.
+ */
+public final class CacheStats {
+    static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0);
+
+    private final long l1Hits;
+    private final long l2Hits;
+    private final long misses;
+    private final long evictions;
+    private final long size;
+
+    CacheStats(long l1Hits, long l2Hits, long misses, long evictions, long size) {
+        this.l1Hits = l1Hits;
+        this.l2Hits = l2Hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    CacheStats plus(CacheStats other) {
+        return new CacheStats(l1Hits + other.l1Hits, l2Hits + other.l2Hits, misses + other.misses,
+                evictions + other.evictions, size + other.size);
+    }
+
+    /**
+     * Lookups answered by the per-thread tier.
+     */
+    public long getL1Hits() {
+        return l1Hits;
+    }
+
+    /**
+     * Lookups answered by the shared tier.
+     */
+    public long getL2Hits() {
+        return l2Hits;
+    }
+
+    public long getHits() {
+        return l1Hits + l2Hits;
+    }
+
+    /**
+     * Lookups which had to run the rules, including results of older rule versions.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Entries currently held by the shared tier.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    public double getHitRate() {
+        long requests = getHits() + misses;
+        return requests == 0 ? 1.0 : (double) getHits() / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{l1Hits=" + l1Hits + ", l2Hits=" + l2Hits + ", misses=" + misses +
+                ", evictions=" + evictions + ", size=" + size + "}";
+    }
+}
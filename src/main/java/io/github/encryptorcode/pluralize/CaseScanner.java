@@ -0,0 +1,21 @@
+package io.github.encryptorcode.pluralize;
+
+/**
+ * Classifies the shapes of many words at once, for the batch APIs.
+ * <p>
+ * This is the scalar version. On JDKs with the Vector API the multi-release jar replaces it with a version which
+ * classifies many characters per instruction, and which falls back to this loop when the API isn't available.
+ */
+final class CaseScanner {
+    private CaseScanner() {
+    }
+
+    /**
+     * Store the shape of {@code words[i]} at {@code shapes[i - from]}, as {@link CaseShape#of} would.
+     */
+    static void classify(String[] words, int from, int to, CaseShape[] shapes) {
+        for (int i = from; i < to; i++) {
+            shapes[i - from] = CaseShape.of(words[i], 0, words[i].length());
+        }
+    }
+}
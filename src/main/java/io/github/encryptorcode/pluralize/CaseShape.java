@@ -0,0 +1,89 @@
+package io.github.encryptorcode.pluralize;
+
+import java.util.Locale;
+
+/**
+ * Case of a word, as used to restore the case of a replacement.
+ * <p>
+ * Only ASCII words are classified. For them the case mappings of {@link String#toLowerCase()} and
+ * {@link String#toUpperCase()} are plain ASCII mappings, unless the default locale has special casing rules.
+ */
+enum CaseShape {
+    // E.g. "hello", also words without any letters.
+    LOWER,
+    // E.g. "WHISKY".
+    UPPER,
+    // E.g. "Title".
+    TITLE,
+    // E.g. "tEsT", restored as lower case.
+    MIXED;
+
+    /**
+     * Classify a part of the word in a single scan. Returns null when the word isn't ASCII or the default locale
+     * has special casing rules, in which case the {@link String} methods have to be used instead.
+     */
+    static CaseShape of(CharSequence word, int start, int end) {
+        if (!isAsciiLocale()) {
+            return null;
+        }
+
+        boolean upper = false;
+        boolean lower = false;
+        for (int i = start; i < end; i++) {
+            char c = word.charAt(i);
+            if (c >= 0x80) {
+                return null;
+            }
+            if (c >= 'A' && c <= 'Z') {
+                upper = true;
+            } else if (c >= 'a' && c <= 'z') {
+                lower = true;
+            }
+        }
+
+        if (!upper) {
+            return LOWER;
+        }
+        if (!lower) {
+            return UPPER;
+        }
+        char first = word.charAt(start);
+        return first >= 'A' && first <= 'Z' ? TITLE : MIXED;
+    }
+
+    /**
+     * Change the case of the token {@code out[from, out.length())} in place. Leaves it unchanged and returns false
+     * when the token isn't ASCII.
+     */
+    boolean applyTo(StringBuilder out, int from) {
+        int end = out.length();
+        for (int i = from; i < end; i++) {
+            if (out.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        for (int i = from; i < end; i++) {
+            char c = out.charAt(i);
+            boolean upper = this == UPPER || (this == TITLE && i == from);
+            out.setCharAt(i, upper ? toUpperCase(c) : toLowerCase(c));
+        }
+        return true;
+    }
+
+    static char toLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    static char toUpperCase(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+
+    /**
+     * Whether the default locale maps ASCII letters to ASCII letters. It can change at runtime, so it's checked
+     * on every call.
+     */
+    static boolean isAsciiLocale() {
+        String language = Locale.getDefault().getLanguage();
+        return !"tr".equals(language) && !"az".equals(language) && !"lt".equals(language);
+    }
+}
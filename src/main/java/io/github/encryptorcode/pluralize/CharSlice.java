@@ -0,0 +1,52 @@
+package io.github.encryptorcode.pluralize;
+
+/**
+ * View of a part of a {@link CharSequence}, optionally lower cased, without copying it.
+ * <p>
+ * Lower casing only maps ASCII letters, so it must only be used where {@link CaseShape#of} classified the
+ * characters.
+ */
+final class CharSlice implements CharSequence {
+    private final CharSequence sequence;
+    private final int start;
+    private final int end;
+    private final boolean lowerCase;
+
+    CharSlice(CharSequence sequence, int start, int end, boolean lowerCase) {
+        this.sequence = sequence;
+        this.start = start;
+        this.end = end;
+        this.lowerCase = lowerCase;
+    }
+
+    /**
+     * The part of the sequence, avoiding a view when it's the whole sequence.
+     */
+    static CharSequence of(CharSequence sequence, int start, int end) {
+        if (start == 0 && end == sequence.length()) {
+            return sequence;
+        }
+        return new CharSlice(sequence, start, end, false);
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        char c = sequence.charAt(start + index);
+        return lowerCase ? CaseShape.toLowerCase(c) : c;
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new CharSlice(sequence, this.start + start, this.start + end, lowerCase);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(length()).append(this).toString();
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.encryptorcode.pluralize;
+
+import io.github.encryptorcode.pluralize.entities.RegexRule;
+import io.github.encryptorcode.pluralize.entities.SuffixIndex;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sanitization rules of one direction, in order, together with their suffix index.
+ * <p>
+ * Nothing is prepared up front, so a direction which is never used costs nothing, and neither do the patterns of
+ * its lazily compiled rules. The first calls try every rule, like a plain scan would, and the index is only built
+ * once the direction is in regular use.
+ */
+final class CompiledRules {
+    private static final int INDEX_AFTER_CALLS = 64;
+
+    final List<RegexRule> rules;
+    // Null unless metrics are enabled.
+    final Metrics.Direction metrics;
+    // Null unless a class was generated from these rules.
+    final SpecializedRules specialized;
+    private final boolean plural;
+    private final BitSet all;
+    private volatile SuffixIndex index;
+    // Racy, it only needs to get there eventually.
+    private int calls;
+
+    CompiledRules(List<RegexRule> rules, Metrics.Direction metrics, SpecializedRules specialized, boolean plural) {
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+        this.metrics = metrics;
+        this.specialized = specialized;
+        this.plural = plural;
+        this.all = new BitSet();
+        all.set(0, rules.size());
+    }
+
+    /**
+     * Compile every pattern and build the index now, instead of on the first calls.
+     */
+    void prepare() {
+        for (RegexRule rule : rules) {
+            rule.getPattern();
+        }
+        if (index == null) {
+            index = new SuffixIndex(rules);
+        }
+    }
+
+    /**
+     * Indexes of the rules that may match the word. The result must not be modified.
+     */
+    BitSet candidates(CharSequence word) {
+        SuffixIndex index = this.index;
+        if (index == null) {
+            if (++calls < INDEX_AFTER_CALLS) {
+                return all;
+            }
+            // Concurrent calls may both build it, which is harmless.
+            index = new SuffixIndex(rules);
+            this.index = index;
+        }
+        return index.candidates(word);
+    }
+
+    /**
+     * Whether the word is left to the generated class instead of the patterns.
+     */
+    boolean isSpecialized(CharSequence word) {
+        return specialized != null && SpecializedRules.accepts(word);
+    }
+
+    /**
+     * Append the word with the last matching rule applied by the generated class, or nothing when none matches.
+     */
+    boolean applySpecialized(CharSequence word, StringBuilder out) {
+        return plural ? specialized.plural(word, out) : specialized.singular(word, out);
+    }
+}
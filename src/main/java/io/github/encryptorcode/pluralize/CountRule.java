@@ -0,0 +1,30 @@
+package io.github.encryptorcode.pluralize;
+
+/**
+ * Decides which counts take the singular form when pluralizing with a count.
+ *
+ * @see Pluralizer.Builder#countRule(CountRule)
+ */
+public interface CountRule {
+    /**
+     * Only 1 is singular, e.g. "1 duck", "0 ducks" and "-1 ducks". This is the default.
+     */
+    CountRule ONE = new CountRule() {
+        @Override
+        public boolean isSingular(long count) {
+            return count == 1;
+        }
+    };
+
+    /**
+     * 1 and -1 are singular, e.g. "-1 degree".
+     */
+    CountRule ONE_OR_MINUS_ONE = new CountRule() {
+        @Override
+        public boolean isSingular(long count) {
+            return count == 1 || count == -1;
+        }
+    };
+
+    boolean isSingular(long count);
+}
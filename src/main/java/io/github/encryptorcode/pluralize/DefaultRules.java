@@ -0,0 +1,237 @@
+package io.github.encryptorcode.pluralize;
+
+/**
+ * Built-in rules, applied in the same order as in the JS version.
+ * <p>
+ * Patterns are given as strings and only compiled when first used, so startup doesn't pay for all of them.
+ */
+class DefaultRules {
+    private DefaultRules() {
+    }
+
+    static void apply(Pluralizer.Builder builder) {
+        /*
+         * Irregular rules.
+         */
+        // Pronouns.
+        builder.addIrregularRule("I", "we");
+        builder.addIrregularRule("me", "us");
+        builder.addIrregularRule("he", "they");
+        builder.addIrregularRule("she", "they");
+        builder.addIrregularRule("them", "them");
+        builder.addIrregularRule("myself", "ourselves");
+        builder.addIrregularRule("yourself", "yourselves");
+        builder.addIrregularRule("itself", "themselves");
+        builder.addIrregularRule("herself", "themselves");
+        builder.addIrregularRule("himself", "themselves");
+        builder.addIrregularRule("themself", "themselves");
+        builder.addIrregularRule("is", "are");
+        builder.addIrregularRule("was", "were");
+        builder.addIrregularRule("has", "have");
+        builder.addIrregularRule("this", "these");
+        builder.addIrregularRule("that", "those");
+
+        // Words ending in with a consonant and `o`.
+        builder.addIrregularRule("echo", "echoes");
+        builder.addIrregularRule("dingo", "dingoes");
+        builder.addIrregularRule("volcano", "volcanoes");
+        builder.addIrregularRule("tornado", "tornadoes");
+        builder.addIrregularRule("torpedo", "torpedoes");
+
+        // Ends with `us`.
+        builder.addIrregularRule("genus", "genera");
+        builder.addIrregularRule("viscus", "viscera");
+
+        // Ends with `ma`.
+        builder.addIrregularRule("stigma", "stigmata");
+        builder.addIrregularRule("stoma", "stomata");
+        builder.addIrregularRule("dogma", "dogmata");
+        builder.addIrregularRule("lemma", "lemmata");
+        builder.addIrregularRule("schema", "schemata");
+        builder.addIrregularRule("anathema", "anathemata");
+
+        // Other irregular rules.
+        builder.addIrregularRule("ox", "oxen");
+        builder.addIrregularRule("axe", "axes");
+        builder.addIrregularRule("die", "dice");
+        builder.addIrregularRule("yes", "yeses");
+        builder.addIrregularRule("foot", "feet");
+        builder.addIrregularRule("eave", "eaves");
+        builder.addIrregularRule("goose", "geese");
+        builder.addIrregularRule("tooth", "teeth");
+        builder.addIrregularRule("quiz", "quizzes");
+        builder.addIrregularRule("human", "humans");
+        builder.addIrregularRule("proof", "proofs");
+        builder.addIrregularRule("carve", "carves");
+        builder.addIrregularRule("valve", "valves");
+        builder.addIrregularRule("looey", "looies");
+        builder.addIrregularRule("thief", "thieves");
+        builder.addIrregularRule("groove", "grooves");
+        builder.addIrregularRule("pickaxe", "pickaxes");
+        builder.addIrregularRule("passerby", "passersby");
+
+        /*
+         * Pluralization rules.
+         */
+        builder.addPluralPattern("s?$", "s");
+        builder.addPluralPattern("[^\\u0000-\\u007F]$", "$0");
+        builder.addPluralPattern("([^aeiou]ese)$", "$1");
+        builder.addPluralPattern("(ax|test)is$", "$1es");
+        builder.addPluralPattern("(alias|[^aou]us|t[lm]as|gas|ris)$", "$1es");
+        builder.addPluralPattern("(e[mn]u)s?$", "$1s");
+        builder.addPluralPattern("([^l]ias|[aeiou]las|[ejzr]as|[iu]am)$", "$1");
+        builder.addPluralPattern("(alumn|syllab|vir|radi|nucle|fung|cact|stimul|termin|bacill|foc|uter|loc|strat)(?:us|i)$", "$1i");
+        builder.addPluralPattern("(alumn|alg|vertebr)(?:a|ae)$", "$1ae");
+        builder.addPluralPattern("(seraph|cherub)(?:im)?$", "$1im");
+        builder.addPluralPattern("(her|at|gr)o$", "$1oes");
+        builder.addPluralPattern("(agend|addend|millenni|dat|extrem|bacteri|desiderat|strat|candelabr|errat|ov|symposi|curricul|automat|quor)(?:a|um)$", "$1a");
+        builder.addPluralPattern("(apheli|hyperbat|periheli|asyndet|noumen|phenomen|criteri|organ|prolegomen|hedr|automat)(?:a|on)$", "$1a");
+        builder.addPluralPattern("sis$", "ses");
+        builder.addPluralPattern("(?:(kni|wi|li)fe|(ar|l|ea|eo|oa|hoo)f)$", "$1$2ves");
+        builder.addPluralPattern("([^aeiouy]|qu)y$", "$1ies");
+        builder.addPluralPattern("([^ch][ieo][ln])ey$", "$1ies");
+        builder.addPluralPattern("(x|ch|ss|sh|zz)$", "$1es");
+        builder.addPluralPattern("(matr|cod|mur|sil|vert|ind|append)(?:ix|ex)$", "$1ices");
+        builder.addPluralPattern("\\b((?:tit)?m|l)(?:ice|ouse)$", "$1ice");
+        builder.addPluralPattern("(pe)(?:rson|ople)$", "$1ople");
+        builder.addPluralPattern("(child)(?:ren)?$", "$1ren");
+        builder.addPluralPattern("eaux$", "$0");
+        builder.addPluralPattern("m[ae]n$", "men");
+        builder.addPluralPattern("^thou$", "you");
+
+        /*
+         * Singularization rules.
+         */
+        builder.addSingularPattern("s$", "");
+        builder.addSingularPattern("(ss)$", "$1");
+        builder.addSingularPattern("(wi|kni|(?:after|half|high|low|mid|non|night|[^\\w]|^)li)ves$", "$1fe");
+        builder.addSingularPattern("(ar|(?:wo|[ae])l|[eo][ao])ves$", "$1f");
+        builder.addSingularPattern("ies$", "y");
+        builder.addSingularPattern("(dg|ss|ois|lk|ok|wn|mb|th|ch|ec|oal|is|ck|ix|sser|ts|wb)ies$", "$1ie");
+        builder.addSingularPattern("\\b(l|(?:neck|cross|hog|aun)?t|coll|faer|food|gen|goon|group|hipp|junk|vegg|(?:pork)?p|charl|calor|cut)ies$", "$1ie");
+        builder.addSingularPattern("\\b(mon|smil)ies$", "$1ey");
+        builder.addSingularPattern("\\b((?:tit)?m|l)ice$", "$1ouse");
+        builder.addSingularPattern("(seraph|cherub)im$", "$1");
+        builder.addSingularPattern("(x|ch|ss|sh|zz|tto|go|cho|alias|[^aou]us|t[lm]as|gas|(?:her|at|gr)o|[aeiou]ris)(?:es)?$", "$1");
+        builder.addSingularPattern("(analy|diagno|parenthe|progno|synop|the|empha|cri|ne)(?:sis|ses)$", "$1sis");
+        builder.addSingularPattern("(movie|twelve|abuse|e[mn]u)s$", "$1");
+        builder.addSingularPattern("(test)(?:is|es)$", "$1is");
+        builder.addSingularPattern("(alumn|syllab|vir|radi|nucle|fung|cact|stimul|termin|bacill|foc|uter|loc|strat)(?:us|i)$", "$1us");
+        builder.addSingularPattern("(agend|addend|millenni|dat|extrem|bacteri|desiderat|strat|candelabr|errat|ov|symposi|curricul|quor)a$", "$1um");
+        builder.addSingularPattern("(apheli|hyperbat|periheli|asyndet|noumen|phenomen|criteri|organ|prolegomen|hedr|automat)a$", "$1on");
+        builder.addSingularPattern("(alumn|alg|vertebr)ae$", "$1a");
+        builder.addSingularPattern("(cod|mur|sil|vert|ind)ices$", "$1ex");
+        builder.addSingularPattern("(matr|append)ices$", "$1ix");
+        builder.addSingularPattern("(pe)(rson|ople)$", "$1rson");
+        builder.addSingularPattern("(child)ren$", "$1");
+        builder.addSingularPattern("(eau)x?$", "$1");
+        builder.addSingularPattern("men$", "man");
+
+        /*
+         * Uncountable rules.
+         */
+        builder.addUncountableRule("adulthood");
+        builder.addUncountableRule("advice");
+        builder.addUncountableRule("agenda");
+        builder.addUncountableRule("aid");
+        builder.addUncountableRule("aircraft");
+        builder.addUncountableRule("alcohol");
+        builder.addUncountableRule("ammo");
+        builder.addUncountableRule("analytics");
+        builder.addUncountableRule("anime");
+        builder.addUncountableRule("athletics");
+        builder.addUncountableRule("audio");
+        builder.addUncountableRule("bison");
+        builder.addUncountableRule("blood");
+        builder.addUncountableRule("bream");
+        builder.addUncountableRule("buffalo");
+        builder.addUncountableRule("butter");
+        builder.addUncountableRule("carp");
+        builder.addUncountableRule("cash");
+        builder.addUncountableRule("chassis");
+        builder.addUncountableRule("chess");
+        builder.addUncountableRule("clothing");
+        builder.addUncountableRule("cod");
+        builder.addUncountableRule("commerce");
+        builder.addUncountableRule("cooperation");
+        builder.addUncountableRule("corps");
+        builder.addUncountableRule("debris");
+        builder.addUncountableRule("diabetes");
+        builder.addUncountableRule("digestion");
+        builder.addUncountableRule("elk");
+        builder.addUncountableRule("energy");
+        builder.addUncountableRule("equipment");
+        builder.addUncountableRule("excretion");
+        builder.addUncountableRule("expertise");
+        builder.addUncountableRule("firmware");
+        builder.addUncountableRule("flounder");
+        builder.addUncountableRule("fun");
+        builder.addUncountableRule("gallows");
+        builder.addUncountableRule("garbage");
+        builder.addUncountableRule("graffiti");
+        builder.addUncountableRule("hardware");
+        builder.addUncountableRule("headquarters");
+        builder.addUncountableRule("health");
+        builder.addUncountableRule("herpes");
+        builder.addUncountableRule("highjinks");
+        builder.addUncountableRule("homework");
+        builder.addUncountableRule("housework");
+        builder.addUncountableRule("information");
+        builder.addUncountableRule("jeans");
+        builder.addUncountableRule("justice");
+        builder.addUncountableRule("kudos");
+        builder.addUncountableRule("labour");
+        builder.addUncountableRule("literature");
+        builder.addUncountableRule("machinery");
+        builder.addUncountableRule("mackerel");
+        builder.addUncountableRule("mail");
+        builder.addUncountableRule("media");
+        builder.addUncountableRule("mews");
+        builder.addUncountableRule("moose");
+        builder.addUncountableRule("music");
+        builder.addUncountableRule("mud");
+        builder.addUncountableRule("manga");
+        builder.addUncountableRule("news");
+        builder.addUncountableRule("only");
+        builder.addUncountableRule("personnel");
+        builder.addUncountableRule("pike");
+        builder.addUncountableRule("plankton");
+        builder.addUncountableRule("pliers");
+        builder.addUncountableRule("police");
+        builder.addUncountableRule("pollution");
+        builder.addUncountableRule("premises");
+        builder.addUncountableRule("rain");
+        builder.addUncountableRule("research");
+        builder.addUncountableRule("rice");
+        builder.addUncountableRule("salmon");
+        builder.addUncountableRule("scissors");
+        builder.addUncountableRule("series");
+        builder.addUncountableRule("sewage");
+        builder.addUncountableRule("shambles");
+        builder.addUncountableRule("shrimp");
+        builder.addUncountableRule("software");
+        builder.addUncountableRule("staff");
+        builder.addUncountableRule("swine");
+        builder.addUncountableRule("tennis");
+        builder.addUncountableRule("traffic");
+        builder.addUncountableRule("transportation");
+        builder.addUncountableRule("trout");
+        builder.addUncountableRule("tuna");
+        builder.addUncountableRule("wealth");
+        builder.addUncountableRule("welfare");
+        builder.addUncountableRule("whiting");
+        builder.addUncountableRule("wildebeest");
+        builder.addUncountableRule("wildlife");
+        builder.addUncountableRule("you");
+        builder.addUncountablePattern("pok[e\u00E9]mon$");
+
+        // Regexes.
+        builder.addUncountablePattern("[^aeiou]ese$"); // "chinese", "japanese"
+        builder.addUncountablePattern("deer$"); // "deer", "reindeer"
+        builder.addUncountablePattern("fish$"); // "fish", "blowfish", "angelfish"
+        builder.addUncountablePattern("measles$");
+        builder.addUncountablePattern("o[iu]s$"); // "carnivorous"
+        builder.addUncountablePattern("pox$"); // "chickpox", "smallpox"
+        builder.addUncountablePattern("sheep$");
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.encryptorcode.pluralize;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Point in time distribution of non-negative values, in power of two buckets.
+ * <p>
+ * Bucket {@code 0} counts zeros and bucket {@code i} counts values from {@code 2^(i-1)} to {@code 2^i - 1}.
+ */
+public final class Histogram {
+    static final Histogram EMPTY = new Histogram(new long[0], 0);
+
+    private final long[] buckets;
+    private final long count;
+    private final long sum;
+
+    private Histogram(long[] buckets, long sum) {
+        this.buckets = buckets;
+        this.sum = sum;
+        long count = 0;
+        for (long bucket : buckets) {
+            count += bucket;
+        }
+        this.count = count;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Counts of the buckets, up to the last one which isn't empty.
+     */
+    public long[] getBuckets() {
+        return buckets.clone();
+    }
+
+    /**
+     * Upper bound of the bucket holding the given quantile, e.g. 0.99 for the 99th percentile.
+     */
+    public long getPercentile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + quantile);
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank && seen > 0) {
+                return i == 63 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Histogram{count=" + count + ", mean=" + getMean() + ", p50=" + getPercentile(0.5) +
+                ", p99=" + getPercentile(0.99) + ", buckets=" + Arrays.toString(buckets) + "}";
+    }
+
+    /**
+     * Records values with striped counters, so concurrent threads don't contend.
+     */
+    static final class Recorder {
+        private final LongAdder[] buckets = new LongAdder[64];
+        private final LongAdder sum = new LongAdder();
+
+        Recorder() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long value) {
+            buckets[64 - Long.numberOfLeadingZeros(Math.max(0, value))].increment();
+            sum.add(value);
+        }
+
+        Histogram snapshot(boolean reset) {
+            long[] counts = new long[buckets.length];
+            int length = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = reset ? buckets[i].sumThenReset() : buckets[i].sum();
+                if (counts[i] != 0) {
+                    length = i + 1;
+                }
+            }
+            return new Histogram(Arrays.copyOf(counts, length), reset ? sum.sumThenReset() : sum.sum());
+        }
+    }
+}
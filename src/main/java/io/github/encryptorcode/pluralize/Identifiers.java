@@ -0,0 +1,101 @@
+package io.github.encryptorcode.pluralize;
+
+/**
+ * Finds the last word of identifiers such as {@code UserAccount}, {@code order_line_item} or {@code HTTPRequest},
+ * in a single backward scan without copying them.
+ * <p>
+ * Words are runs of letters, split by any other character and by case changes: a lower case run starts at the upper
+ * case letter before it, and an upper case run is an acronym. An acronym followed by a lone {@code s} is a plural
+ * acronym, e.g. {@code IDs}. Letters without case, e.g. CJK, join the run they are in.
+ */
+final class Identifiers {
+    private Identifiers() {
+    }
+
+    /**
+     * End of the last word of {@code identifier[start, end)}, which is {@code start} when there are no letters.
+     * Trailing characters which aren't letters, e.g. {@code _} or digits, are left out.
+     */
+    static int wordEnd(CharSequence identifier, int start, int end) {
+        int i = end;
+        while (i > start && !Character.isLetter(identifier.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Start of the word ending at {@code wordEnd}, which must follow a letter.
+     */
+    static int wordStart(CharSequence identifier, int start, int wordEnd) {
+        int i = wordEnd;
+        if (Character.isUpperCase(identifier.charAt(wordEnd - 1))) {
+            return upperStart(identifier, start, i);
+        }
+        while (i > start && isLetterNotUpper(identifier.charAt(i - 1))) {
+            i--;
+        }
+        if (i == start || !Character.isUpperCase(identifier.charAt(i - 1))) {
+            return i;
+        }
+        int upper = upperStart(identifier, start, i);
+        // "IDs", the plural of an acronym.
+        if (wordEnd - i == 1 && identifier.charAt(i) == 's' && i - upper > 1) {
+            return upper;
+        }
+        // "Request" in "HTTPRequest".
+        return i - 1;
+    }
+
+    private static int upperStart(CharSequence identifier, int start, int end) {
+        int i = end;
+        while (i > start && isLetterNotLower(identifier.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Whether {@code identifier[start, end)} is an acronym following a lower case letter, e.g. {@code ID} in
+     * {@code UserID}, whose endings are lower cased like {@code UserIDs}.
+     */
+    static boolean isTrailingAcronym(CharSequence identifier, int start, int wordStart, int wordEnd) {
+        if (wordEnd - wordStart < 2 || !Character.isUpperCase(identifier.charAt(wordEnd - 1))) {
+            return false;
+        }
+        for (int i = wordStart - 1; i >= start; i--) {
+            if (Character.isLowerCase(identifier.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lower case what was appended after the acronym {@code identifier[wordStart, wordEnd)} in
+     * {@code out[from, out.length())}, e.g. "IDs" rather than "IDS". Nothing changes when the result doesn't start
+     * with the acronym.
+     */
+    static void lowerEnding(CharSequence identifier, int wordStart, int wordEnd, StringBuilder out, int from) {
+        int length = wordEnd - wordStart;
+        if (out.length() - from < length) {
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            if (out.charAt(from + i) != identifier.charAt(wordStart + i)) {
+                return;
+            }
+        }
+        for (int i = from + length; i < out.length(); i++) {
+            out.setCharAt(i, Character.toLowerCase(out.charAt(i)));
+        }
+    }
+
+    private static boolean isLetterNotUpper(char c) {
+        return Character.isLetter(c) && !Character.isUpperCase(c);
+    }
+
+    private static boolean isLetterNotLower(char c) {
+        return Character.isLetter(c) && !Character.isLowerCase(c);
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.encryptorcode.pluralize;
+
+import io.github.encryptorcode.pluralize.entities.RegexRule;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Point in time metrics of one direction of a {@link Pluralizer}, e.g. {@link Pluralizer#plural(String)} and
+ * {@link Pluralizer#isPlural(String)} together.
+ * <p>
+ * Calls answered by the result cache only count towards the latency.
+ */
+public final class InflectionMetrics {
+    static final InflectionMetrics EMPTY = new InflectionMetrics(0, 0, 0, 0, Collections.emptyMap(),
+            Histogram.EMPTY, Histogram.EMPTY);
+
+    private final long tableHits;
+    private final long irregularHits;
+    private final long uncountableHits;
+    private final long unmatched;
+    private final Map<RegexRule, Long> ruleHits;
+    private final Histogram rulesEvaluated;
+    private final Histogram latency;
+
+    InflectionMetrics(long tableHits, long irregularHits, long uncountableHits, long unmatched,
+                      Map<RegexRule, Long> ruleHits, Histogram rulesEvaluated, Histogram latency) {
+        this.tableHits = tableHits;
+        this.irregularHits = irregularHits;
+        this.uncountableHits = uncountableHits;
+        this.unmatched = unmatched;
+        this.ruleHits = Collections.unmodifiableMap(ruleHits);
+        this.rulesEvaluated = rulesEvaluated;
+        this.latency = latency;
+    }
+
+    /**
+     * Calls, including the ones answered by the result cache.
+     */
+    public long getCalls() {
+        return latency.getCount();
+    }
+
+    /**
+     * Words answered by the inflection table.
+     */
+    public long getTableHits() {
+        return tableHits;
+    }
+
+    /**
+     * Words answered by the irregular words, including the ones of the lexicon.
+     */
+    public long getIrregularHits() {
+        return irregularHits;
+    }
+
+    /**
+     * Words answered by the uncountable words. Uncountable patterns are rules, so they count as rule hits.
+     */
+    public long getUncountableHits() {
+        return uncountableHits;
+    }
+
+    /**
+     * Words which went through the rules without any of them matching.
+     */
+    public long getUnmatched() {
+        return unmatched;
+    }
+
+    /**
+     * Matches per rule, for the rules which matched at least once, most frequent first.
+     */
+    public Map<RegexRule, Long> getRuleHits() {
+        return ruleHits;
+    }
+
+    /**
+     * Words which went through the rules, whether one matched or not.
+     */
+    public long getRuleScans() {
+        return rulesEvaluated.getCount();
+    }
+
+    /**
+     * Share of the words answered by the irregular words, out of the ones which weren't in the table.
+     */
+    public double getIrregularHitRate() {
+        long lookups = irregularHits + uncountableHits + getRuleScans();
+        return lookups == 0 ? 0 : (double) irregularHits / lookups;
+    }
+
+    /**
+     * Share of the words answered by the uncountable words, out of the ones which weren't irregular.
+     */
+    public double getUncountableHitRate() {
+        long lookups = uncountableHits + getRuleScans();
+        return lookups == 0 ? 0 : (double) uncountableHits / lookups;
+    }
+
+    /**
+     * Regular expressions evaluated per word which went through the rules.
+     */
+    public Histogram getRulesEvaluated() {
+        return rulesEvaluated;
+    }
+
+    /**
+     * Call latency in nanoseconds.
+     */
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        return "InflectionMetrics{calls=" + getCalls() + ", tableHits=" + tableHits + ", irregularHits=" +
+                irregularHits + ", uncountableHits=" + uncountableHits + ", unmatched=" + unmatched +
+                ", ruleHits=" + ruleHits.size() + " rules, rulesEvaluated=" + rulesEvaluated + ", latency=" +
+                latency + "}";
+    }
+}
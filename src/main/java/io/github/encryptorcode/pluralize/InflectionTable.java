@@ -0,0 +1,135 @@
+package io.github.encryptorcode.pluralize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Precomputed plurals and singulars of a word list, generated at build time by {@link InflectionTableGenerator}.
+ * <p>
+ * A table is only used by a {@link Pluralizer} whose rules have the fingerprint the table was generated with,
+ * and only for lower cased ASCII words, so it never changes a result. Everything else falls back to the rules.
+ * <p>
+ * Words are looked up with a binary search directly in the buffer, see {@link WordSections} for the format.
+ */
+public final class InflectionTable {
+    /**
+     * Class path location of the table used by {@link Pluralize}.
+     */
+    public static final String RESOURCE = "META-INF/pluralize/inflections.bin";
+
+    private static final int MAGIC = 0x504c5a54;
+
+    private final WordSections sections;
+
+    private InflectionTable(ByteBuffer buffer) {
+        this.sections = new WordSections(buffer, MAGIC, "inflection table");
+    }
+
+    /**
+     * Use a table in the buffer, from index 0 to the limit. The buffer must not be modified afterwards.
+     */
+    public static InflectionTable of(ByteBuffer buffer) {
+        return new InflectionTable(buffer.slice());
+    }
+
+    /**
+     * Read a table from the stream until its end. The stream is not closed.
+     */
+    public static InflectionTable read(InputStream in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            bytes.write(chunk, 0, read);
+        }
+        return of(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    /**
+     * Table at {@link #RESOURCE} of the class loader, or null when there is none.
+     */
+    public static InflectionTable fromResource(ClassLoader loader) {
+        try (InputStream in = loader.getResourceAsStream(RESOURCE)) {
+            return in == null ? null : read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + RESOURCE, e);
+        }
+    }
+
+    /**
+     * Generate the table of the words with the rules of the pluralizer. The table has the lower cased words, their
+     * plurals and their singulars, as far as they are ASCII words.
+     */
+    public static void write(Pluralizer pluralizer, Iterable<String> words, OutputStream out) throws IOException {
+        Map<String, String> plurals = new TreeMap<>();
+        Map<String, String> singulars = new TreeMap<>();
+        for (String word : words) {
+            word = word.toLowerCase(Locale.ROOT);
+            String plural = pluralizer.plural(word);
+            String singular = pluralizer.singular(word);
+            for (String key : new String[]{word, plural, singular}) {
+                if (isKey(key) && !plurals.containsKey(key)) {
+                    plurals.put(key, pluralizer.plural(key));
+                    singulars.put(key, pluralizer.singular(key));
+                }
+            }
+        }
+
+        WordSections.write(out, MAGIC, pluralizer.getRules().getFingerprint(), plurals, singulars);
+    }
+
+    private static boolean isKey(String word) {
+        return word.length() <= Character.MAX_VALUE && CaseShape.of(word, 0, word.length()) == CaseShape.LOWER;
+    }
+
+    /**
+     * Fingerprint of the rules the table was generated with.
+     *
+     * @see RuleSet#getFingerprint()
+     */
+    public long getFingerprint() {
+        return sections.stamp();
+    }
+
+    /**
+     * Number of words in the table.
+     */
+    public int size() {
+        return sections.count(WordSections.FIRST);
+    }
+
+    /**
+     * Precomputed plural of a word, or null when it isn't in the table.
+     */
+    public String plural(CharSequence word) {
+        return sections.get(WordSections.FIRST, word);
+    }
+
+    /**
+     * Precomputed singular of a word, or null when it isn't in the table.
+     */
+    public String singular(CharSequence word) {
+        return sections.get(WordSections.SECOND, word);
+    }
+
+    /**
+     * Append the precomputed plural of {@code word[start, end)}. Returns false when it isn't in the table.
+     */
+    boolean appendPlural(CharSequence word, int start, int end, StringBuilder out) {
+        return sections.append(WordSections.FIRST, word, start, end, out);
+    }
+
+    /**
+     * Append the precomputed singular of {@code word[start, end)}. Returns false when it isn't in the table.
+     */
+    boolean appendSingular(CharSequence word, int start, int end, StringBuilder out) {
+        return sections.append(WordSections.SECOND, word, start, end, out);
+    }
+}
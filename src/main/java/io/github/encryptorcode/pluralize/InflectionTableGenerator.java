@@ -0,0 +1,62 @@
+package io.github.encryptorcode.pluralize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Build step writing an {@link InflectionTable}, e.g. from the exec-maven-plugin in the generate-resources phase:
+ * <pre>
+ * java io.github.encryptorcode.pluralize.InflectionTableGenerator &lt;word list&gt; &lt;output&gt; [customizer class]
+ * </pre>
+ * The word list has a word per line, blank lines and lines starting with {@code #} are skipped. The customizer is
+ * a {@code Consumer<Pluralizer.Builder>} with a public no argument constructor, adding the same custom rules the
+ * application adds, after the built-in rules.
+ */
+public class InflectionTableGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: InflectionTableGenerator <word list> <output> [customizer class]");
+            System.exit(2);
+        }
+
+        Pluralizer.Builder builder = Pluralizer.builder().withDefaultRules();
+        if (args.length == 3) {
+            customizer(args[2]).accept(builder);
+        }
+        Pluralizer pluralizer = builder.build();
+
+        List<String> words = readWords(Paths.get(args[0]));
+        Path output = Paths.get(args[1]);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(output)) {
+            InflectionTable.write(pluralizer, words, out);
+        }
+        System.out.println("Wrote " + words.size() + " words to " + output);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Consumer<Pluralizer.Builder> customizer(String className) throws ReflectiveOperationException {
+        return (Consumer<Pluralizer.Builder>) Class.forName(className).getConstructor().newInstance();
+    }
+
+    static List<String> readWords(Path path) throws IOException {
+        List<String> words = new ArrayList<>();
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            String word = line.trim();
+            if (!word.isEmpty() && !word.startsWith("#")) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
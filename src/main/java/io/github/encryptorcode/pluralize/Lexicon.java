@@ -0,0 +1,113 @@
+package io.github.encryptorcode.pluralize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Large dictionary of irregular words, searched in place in a memory mapped file instead of being loaded on the
+ * heap.
+ * <p>
+ * Words of the lexicon have the same priority as the ones added with {@link Pluralizer#addIrregularRule}, which
+ * win when both have a word. The file is mapped read only, so the operating system shares its pages between all
+ * the processes using it. The format is {@link WordSections}, with singulars mapped to plurals in the first section
+ * and plurals mapped to singulars in the second one.
+ */
+public final class Lexicon {
+    private static final int MAGIC = 0x504c5a4c;
+
+    final WordSections sections;
+
+    private Lexicon(ByteBuffer buffer) {
+        this.sections = new WordSections(buffer, MAGIC, "lexicon");
+    }
+
+    /**
+     * Map a lexicon file. The file must not be modified while it is in use.
+     */
+    public static Lexicon open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Lexicon is larger than 2GB: " + path);
+            }
+            // The mapping stays valid after the channel is closed.
+            return new Lexicon(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Use a lexicon in the buffer, from index 0 to the limit. The buffer must not be modified afterwards.
+     */
+    public static Lexicon of(ByteBuffer buffer) {
+        return new Lexicon(buffer.slice());
+    }
+
+    /**
+     * Write a lexicon of irregular words.
+     *
+     * @param irregulars Singulars mapped to their plurals, in the order they would be passed to
+     *                   {@link Pluralizer#addIrregularRule}
+     */
+    public static void write(Map<String, String> irregulars, OutputStream out) throws IOException {
+        Map<String, String> singles = new TreeMap<>();
+        Map<String, String> plurals = new TreeMap<>();
+        for (Map.Entry<String, String> entry : irregulars.entrySet()) {
+            String single = entry.getKey().toLowerCase();
+            String plural = entry.getValue().toLowerCase();
+            if (single.length() > Character.MAX_VALUE || plural.length() > Character.MAX_VALUE) {
+                throw new IllegalArgumentException("Word is too long: " + single);
+            }
+            singles.put(single, plural);
+            plurals.put(plural, single);
+        }
+        WordSections.write(out, MAGIC, checksum(singles, plurals), singles, plurals);
+    }
+
+    /**
+     * FNV-1a hash of the words, so the fingerprint of the rules changes with the lexicon.
+     */
+    private static long checksum(Map<String, String> singles, Map<String, String> plurals) {
+        long hash = 0xcbf29ce484222325L;
+        for (Map<String, String> section : Arrays.asList(singles, plurals)) {
+            for (Map.Entry<String, String> entry : section.entrySet()) {
+                hash = RuleSet.hash(hash, entry.getKey());
+                hash = RuleSet.hash(hash, entry.getValue());
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Hash of the words of the lexicon.
+     */
+    public long getChecksum() {
+        return sections.stamp();
+    }
+
+    /**
+     * Number of singulars in the lexicon.
+     */
+    public int size() {
+        return sections.count(WordSections.FIRST);
+    }
+
+    /**
+     * Plural of a lower cased singular, or null when it isn't in the lexicon.
+     */
+    public String plural(CharSequence single) {
+        return sections.get(WordSections.FIRST, single);
+    }
+
+    /**
+     * Singular of a lower cased plural, or null when it isn't in the lexicon.
+     */
+    public String singular(CharSequence plural) {
+        return sections.get(WordSections.SECOND, plural);
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.encryptorcode.pluralize;
+
+import java.io.BufferedReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Build step writing a {@link Lexicon}:
+ * <pre>
+ * java io.github.encryptorcode.pluralize.LexiconGenerator &lt;word pairs&gt; &lt;output&gt;
+ * </pre>
+ * The word pairs have a singular and its plural per line, separated by whitespace. Blank lines and lines starting
+ * with {@code #} are skipped.
+ */
+public class LexiconGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Usage: LexiconGenerator <word pairs> <output>");
+            System.exit(2);
+        }
+
+        Map<String, String> irregulars = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] words = line.split("\\s+");
+                if (words.length != 2) {
+                    throw new IllegalArgumentException("Expected a singular and a plural on line " + number);
+                }
+                irregulars.remove(words[0]);
+                irregulars.put(words[0], words[1]);
+            }
+        }
+
+        Path output = Paths.get(args[1]);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(output)) {
+            Lexicon.write(irregulars, out);
+        }
+        System.out.println("Wrote " + irregulars.size() + " word pairs to " + output);
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.encryptorcode.pluralize;
+
+import io.github.encryptorcode.pluralize.entities.RegexRule;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recorders of the optional metrics of a {@link Pluralizer}. Shared by all the snapshots of its rules, so counts
+ * survive rule changes. Replacing the rules starts new rule hits, so the hits of the replaced rules are dropped
+ * along with them, and calls finishing on the replaced rules can't count them again.
+ */
+final class Metrics {
+    final Direction plural;
+    final Direction singular;
+
+    Metrics() {
+        this(new Direction(), new Direction());
+    }
+
+    private Metrics(Direction plural, Direction singular) {
+        this.plural = plural;
+        this.singular = singular;
+    }
+
+    /**
+     * Metrics of new rules, which keep counting the calls of these ones but have no rule hits yet.
+     */
+    Metrics forNewRules() {
+        return new Metrics(new Direction(plural), new Direction(singular));
+    }
+
+    /**
+     * Recorder of one direction. Only striped counters are updated on the calling thread.
+     */
+    static final class Direction {
+        private final LongAdder tableHits;
+        private final LongAdder irregularHits;
+        private final LongAdder uncountableHits;
+        private final LongAdder unmatched;
+        private final ConcurrentHashMap<RegexRule, LongAdder> ruleHits = new ConcurrentHashMap<>();
+        private final Histogram.Recorder rulesEvaluated;
+        private final Histogram.Recorder latency;
+
+        Direction() {
+            tableHits = new LongAdder();
+            irregularHits = new LongAdder();
+            uncountableHits = new LongAdder();
+            unmatched = new LongAdder();
+            rulesEvaluated = new Histogram.Recorder();
+            latency = new Histogram.Recorder();
+        }
+
+        /**
+         * Recorder sharing everything with another one but the rule hits.
+         */
+        private Direction(Direction shared) {
+            tableHits = shared.tableHits;
+            irregularHits = shared.irregularHits;
+            uncountableHits = shared.uncountableHits;
+            unmatched = shared.unmatched;
+            rulesEvaluated = shared.rulesEvaluated;
+            latency = shared.latency;
+        }
+
+        void tableHit() {
+            tableHits.increment();
+        }
+
+        void irregularHit() {
+            irregularHits.increment();
+        }
+
+        void uncountableHit() {
+            uncountableHits.increment();
+        }
+
+        void ruleHit(RegexRule rule, int evaluated) {
+            LongAdder hits = ruleHits.get(rule);
+            if (hits == null) {
+                hits = ruleHits.computeIfAbsent(rule, key -> new LongAdder());
+            }
+            hits.increment();
+            rulesEvaluated.record(evaluated);
+        }
+
+        void noRuleHit(int evaluated) {
+            unmatched.increment();
+            rulesEvaluated.record(evaluated);
+        }
+
+        void latency(long nanos) {
+            latency.record(nanos);
+        }
+
+        /**
+         * Current values, optionally resetting them. Counts recorded while resetting may go to either side.
+         */
+        InflectionMetrics snapshot(boolean reset) {
+            List<Map.Entry<RegexRule, Long>> hits = new ArrayList<>();
+            for (Map.Entry<RegexRule, LongAdder> entry : ruleHits.entrySet()) {
+                long count = reset ? entry.getValue().sumThenReset() : entry.getValue().sum();
+                if (count > 0) {
+                    hits.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), count));
+                }
+            }
+            hits.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+            Map<RegexRule, Long> sorted = new LinkedHashMap<>();
+            for (Map.Entry<RegexRule, Long> entry : hits) {
+                sorted.put(entry.getKey(), entry.getValue());
+            }
+
+            return new InflectionMetrics(
+                    reset ? tableHits.sumThenReset() : tableHits.sum(),
+                    reset ? irregularHits.sumThenReset() : irregularHits.sum(),
+                    reset ? uncountableHits.sumThenReset() : uncountableHits.sum(),
+                    reset ? unmatched.sumThenReset() : unmatched.sum(),
+                    sorted,
+                    rulesEvaluated.snapshot(reset),
+                    latency.snapshot(reset));
+        }
+    }
+}
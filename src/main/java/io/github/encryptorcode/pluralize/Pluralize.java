@@ -1,518 +1,422 @@
 package io.github.encryptorcode.pluralize;
 
-import io.github.encryptorcode.pluralize.entities.RegexRule;
-import io.github.encryptorcode.pluralize.entities.RegexRules;
-
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+/**
+ * Static facade over a default {@link Pluralizer} which has all the built-in rules.
+ */
 public class Pluralize {
-    // Rule storage - pluralize and singularize need to be run sequentially,
-    // while other rules can be optimized using an object for instant lookups.
-    private static final RegexRules PLURAL_RULES = new RegexRules();
-    private static final RegexRules SINGULAR_RULES = new RegexRules();
-    private static final List<String> UNCOUNTABLES = new ArrayList<>();
-    private static final Map<String, String> IRREGULAR_PLURALS = new HashMap<>();
-    private static final Map<String, String> IRREGULAR_SINGLES = new HashMap<>();
+    private static final Logger LOGGER = Logger.getLogger(Pluralize.class.getName());
+    private static final int DEFAULT_WARM_UP_CACHE_SIZE = 1 << 16;
+    private static final Pluralizer DEFAULT = Pluralizer.builder()
+            .withDefaultRules()
+            // A warm-up needs a cache to fill.
+            .cacheSize(Integer.getInteger("pluralize.cacheSize",
+                    System.getProperty("pluralize.warmUp") == null ? 0 : DEFAULT_WARM_UP_CACHE_SIZE))
+            .sharedCache(openSharedCache(System.getProperty("pluralize.sharedCache")))
+            .metrics(Boolean.getBoolean("pluralize.metrics"))
+            .withTable(InflectionTable.fromResource(Pluralize.class.getClassLoader()))
+            .withSpecializedRules(newSpecializedRules(System.getProperty("pluralize.specializedRules")))
+            .build();
+    private static final WarmUp WARM_UP = startWarmUp(System.getProperty("pluralize.warmUp"));
+
+    private static SharedCache openSharedCache(String path) {
+        if (path == null) {
+            return null;
+        }
+        // Like the other optional speedups, the facade works without it.
+        try {
+            return SharedCache.open(Paths.get(path), Integer.getInteger("pluralize.sharedCacheSlots", 1 << 16));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Cannot open the shared cache " + path, e);
+            return null;
+        }
+    }
 
-    // Additional variables for better performance in Java
-    private static final String EMPTY_STRING = "";
-    private static final Pattern MARKERS_REGEX = Pattern.compile("\\$(\\d{1,2})");
+    private static SpecializedRules newSpecializedRules(String className) {
+        if (className == null) {
+            return null;
+        }
+        try {
+            return (SpecializedRules) Class.forName(className).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            LOGGER.log(Level.WARNING, "Cannot create the specialized rules " + className, e);
+            return null;
+        }
+    }
+
+    private static WarmUp startWarmUp(String path) {
+        if (path == null) {
+            return null;
+        }
+        try {
+            return DEFAULT.warmUpInBackground(Paths.get(path), ForkJoinPool.commonPool());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Cannot warm up with the words of " + path, e);
+            return null;
+        }
+    }
 
     /**
-     * Sanitize a pluralization rule to a usable regular expression.
-     * <p>
-     * Note: Method used for converting {@link String} to {@link Pattern}.
-     * Method name can be misleading. We are trying to have the same name as in JS
+     * The warm-up the default instance started in the background with the words of the file named by the
+     * {@code pluralize.warmUp} system property, or null when there is none or it couldn't be read.
      */
-    private static Pattern sanitizeRule(String word) {
-        return p("^" + word + "$");
+    public static WarmUp getWarmUp() {
+        return WARM_UP;
     }
 
     /**
-     * Pass in a word token to produce a function that can replicate the case on
-     * another word.
+     * The {@link Pluralizer} all the static methods delegate to.
      */
-    private static String restoreCase(String word, String token) {
-        // Note: this is an additional safety check for Java
-        if (token.isEmpty()) {
-            return token;
-        }
+    public static Pluralizer getDefault() {
+        return DEFAULT;
+    }
 
-        // Tokens are an exact match.
-        if (word.equals(token)) {
-            return token;
-        }
+    /**
+     * Pluralize or singularize a word based on the passed in count.
+     *
+     * @param word The word to pluralize
+     */
+    public static String pluralize(String word) {
+        return DEFAULT.pluralize(word);
+    }
 
-        // Lower cased words. E.g. "hello".
-        if (word.equals(word.toLowerCase())) {
-            return token.toLowerCase();
-        }
+    /**
+     * Pluralize or singularize a word based on the passed in count.
+     *
+     * @param word  The word to pluralize
+     * @param count How many of the word exist
+     */
+    public static String pluralize(String word, Integer count) {
+        return DEFAULT.pluralize(word, count);
+    }
 
-        // Upper cased words. E.g. "WHISKY".
-        if (word.equals(word.toUpperCase())) {
-            return token.toUpperCase();
-        }
+    /**
+     * Pluralize or singularize a word based on the passed in count.
+     *
+     * @param word      The word to pluralize
+     * @param count     How many of the word exist, or null for the plural without a number
+     * @param inclusive Whether to prefix with the number (e.g. 3 ducks)
+     */
+    public static String pluralize(String word, Integer count, boolean inclusive) {
+        return DEFAULT.pluralize(word, count, inclusive);
+    }
 
-        // Title cased words. E.g. "Title".
-        if ('A' <= word.charAt(0) && word.charAt(0) <= 'Z') {
-            return String.valueOf(token.charAt(0)).toUpperCase() + token.substring(1).toLowerCase();
-        }
+    /**
+     * Pluralize or singularize a word based on the passed in count, and append the result.
+     *
+     * @param word      The word to pluralize
+     * @param count     How many of the word exist
+     * @param inclusive Whether to prefix with the number (e.g. 3 ducks)
+     * @param out       Receives the result
+     */
+    public static void pluralize(CharSequence word, long count, boolean inclusive, StringBuilder out) {
+        DEFAULT.pluralize(word, count, inclusive, out);
+    }
 
-        // Lower cased words. E.g. "test".
-        return token.toLowerCase();
+    /**
+     * Pluralize or singularize a word based on the passed in count, and append the result.
+     *
+     * @param word      The word to pluralize
+     * @param count     How many of the word exist
+     * @param inclusive Whether to prefix with the number (e.g. 3 ducks)
+     * @param out       Receives the result
+     */
+    public static void pluralize(CharSequence word, long count, boolean inclusive, Appendable out)
+            throws IOException {
+        DEFAULT.pluralize(word, count, inclusive, out);
     }
 
     /**
-     * Interpolate a regexp string.
-     * <p>
-     * This method couldn't be the same as in JS. But we haven't changed the name of the method to something relevant.
-     * TODO: Try to optimise this method to match JS code
+     * Pluralize a word
      */
-    private static String interpolate(List<String> matches, String replacement) {
-        StringBuffer resultantString = new StringBuffer();
-        Matcher matcher = MARKERS_REGEX.matcher(replacement);
-        while (matcher.find()) {
-            String group = matcher.group();
-            int index = Integer.parseInt(group.substring(1));
-            matcher.appendReplacement(resultantString, matches.get(index));
-        }
-        matcher.appendTail(resultantString);
-        return resultantString.toString();
+    public static String plural(String word) {
+        return DEFAULT.plural(word);
     }
 
     /**
-     * Replace a word using a rule
+     * Pluralize {@code word[offset, offset + length)} and append the result
      */
-    private static String replace(String word, Matcher matcher, RegexRule rule) {
-        List<String> matches = new ArrayList<>();
-        for (int i = 0; i <= matcher.groupCount(); i++) {
-            matches.add(matcher.group(i) == null ? EMPTY_STRING : matcher.group(i));
-        }
-        return replaceFirst(matcher, word, interpolate(matches, rule.getReplacement()));
+    public static void plural(CharSequence word, int offset, int length, StringBuilder out) {
+        DEFAULT.plural(word, offset, length, out);
     }
 
     /**
-     * Replaces the first find using matcher
-     * <p>
-     * We have this method because we cannot pass functions in Java as we can do in JS.
-     * TODO: Try to optimise this method further to match JS code
+     * Pluralize {@code word[offset, offset + length)} and append the result
      */
-    private static String replaceFirst(Matcher matcher, String word, String replacement) {
-        StringBuffer buffer = new StringBuffer();
-        matcher.reset();
-        if (matcher.find()) {
-            String group = matcher.group();
-            if (group.equals(EMPTY_STRING)) {
-                matcher.appendReplacement(buffer, restoreCase(String.valueOf(word.charAt(word.length() - 1)), replacement));
-            } else {
-                matcher.appendReplacement(buffer, restoreCase(group, replacement));
-            }
-        }
-        matcher.appendTail(buffer);
-        return buffer.toString();
+    public static void plural(CharSequence word, int offset, int length, Appendable out) throws IOException {
+        DEFAULT.plural(word, offset, length, out);
     }
 
     /**
-     * Sanitize a word by passing in the word and sanitization rule.
+     * Pluralize the UTF-8 word {@code word[offset, offset + length)} and put the UTF-8 result at the position of
+     * {@code out}.
      */
-    private static String sanitizeWord(String token, String word, RegexRules rules) {
-        if (token.isEmpty() || UNCOUNTABLES.contains(token)) {
-            return word;
-        }
+    public static void plural(ByteBuffer word, int offset, int length, ByteBuffer out) {
+        DEFAULT.plural(word, offset, length, out);
+    }
 
-        int len = rules.size();
+    /**
+     * Pluralize many words, in parallel for large batches.
+     *
+     * @param words   The words to pluralize
+     * @param results Receives the plural of {@code words[i]} at index {@code i}
+     */
+    public static void plural(String[] words, String[] results) {
+        DEFAULT.plural(words, results);
+    }
 
-        // Iterate over the sanitization rules and use the first one to match.
-        while (len-- > 0) {
-            RegexRule rule = rules.get(len);
-            Matcher matcher = rule.getPattern().matcher(word);
-            if (matcher.find()) {
-                return replace(word, matcher, rule);
-            }
-        }
-        return word;
+    /**
+     * Pluralize many words, in parallel for large batches.
+     *
+     * @param words   The words to pluralize
+     * @param results Receives the plural of {@code words.get(i)} at index {@code i}
+     */
+    public static void plural(List<String> words, String[] results) {
+        DEFAULT.plural(words, results);
     }
 
     /**
-     * Replace a word with the updated word.
+     * Pluralize many words, in parallel for large batches.
+     *
+     * @param words   The words to pluralize, in encounter order
+     * @param results Receives the plurals in encounter order
      */
-    private static String replaceWord(String word, Map<String, String> replaceMap, Map<String, String> keepMap, RegexRules rules) {
-        String token = word.toLowerCase();
+    public static void plural(Stream<String> words, String[] results) {
+        DEFAULT.plural(words, results);
+    }
 
-        if (keepMap.containsKey(token)) {
-            return restoreCase(word, token);
-        }
+    /**
+     * Check if a word is plural
+     */
+    public static boolean isPlural(String word) {
+        return DEFAULT.isPlural(word);
+    }
 
-        if (replaceMap.containsKey(token)) {
-            return restoreCase(word, replaceMap.get(token));
-        }
+    /**
+     * Check if {@code word[offset, offset + length)} is plural
+     */
+    public static boolean isPlural(CharSequence word, int offset, int length) {
+        return DEFAULT.isPlural(word, offset, length);
+    }
 
-        return sanitizeWord(token, word, rules);
+    /**
+     * Check if the UTF-8 word {@code word[offset, offset + length)} is plural.
+     */
+    public static boolean isPlural(ByteBuffer word, int offset, int length) {
+        return DEFAULT.isPlural(word, offset, length);
     }
 
     /**
-     * Check if a word is part of the map
+     * Singularize a word.
      */
-    private static boolean checkWord(String word, Map<String, String> replaceMap, Map<String, String> keepMap, RegexRules rules) {
-        String token = word.toLowerCase();
+    public static String singular(String word) {
+        return DEFAULT.singular(word);
+    }
 
-        if (keepMap.containsKey(token)) {
-            return true;
-        }
+    /**
+     * Singularize {@code word[offset, offset + length)} and append the result
+     */
+    public static void singular(CharSequence word, int offset, int length, StringBuilder out) {
+        DEFAULT.singular(word, offset, length, out);
+    }
 
-        if (replaceMap.containsKey(token)) {
-            return false;
-        }
+    /**
+     * Singularize {@code word[offset, offset + length)} and append the result
+     */
+    public static void singular(CharSequence word, int offset, int length, Appendable out) throws IOException {
+        DEFAULT.singular(word, offset, length, out);
+    }
 
-        return sanitizeWord(token, token, rules).equals(token);
+    /**
+     * Singularize the UTF-8 word {@code word[offset, offset + length)} and put the UTF-8 result at the position of
+     * {@code out}.
+     */
+    public static void singular(ByteBuffer word, int offset, int length, ByteBuffer out) {
+        DEFAULT.singular(word, offset, length, out);
     }
 
     /**
-     * Pluralize or singularize a word based on the passed in count.
+     * Singularize many words, in parallel for large batches.
      *
-     * @param word The word to pluralize
+     * @param words   The words to singularize
+     * @param results Receives the singular of {@code words[i]} at index {@code i}
      */
-    public static String pluralize(String word) {
-        return pluralize(word, null);
+    public static void singular(String[] words, String[] results) {
+        DEFAULT.singular(words, results);
     }
 
     /**
-     * Pluralize or singularize a word based on the passed in count.
+     * Singularize many words, in parallel for large batches.
      *
-     * @param word  The word to pluralize
-     * @param count How many of the word exist
+     * @param words   The words to singularize
+     * @param results Receives the singular of {@code words.get(i)} at index {@code i}
      */
-    public static String pluralize(String word, Integer count) {
-        return pluralize(word, count, false);
+    public static void singular(List<String> words, String[] results) {
+        DEFAULT.singular(words, results);
     }
 
     /**
-     * Pluralize or singularize a word based on the passed in count.
+     * Singularize many words, in parallel for large batches.
      *
-     * @param word      The word to pluralize
-     * @param count     How many of the word exist
-     * @param inclusive Whether to prefix with the number (e.g. 3 ducks)
+     * @param words   The words to singularize, in encounter order
+     * @param results Receives the singulars in encounter order
      */
-    public static String pluralize(String word, Integer count, boolean inclusive) {
-        String pluralized = count != null && count == 1 ? singular(word) : plural(word);
-        return (inclusive ? count + " " : "") + pluralized;
+    public static void singular(Stream<String> words, String[] results) {
+        DEFAULT.singular(words, results);
     }
 
     /**
-     * Pluralize a word
+     * Check if a word is singular
      */
-    public static String plural(String word) {
-        return replaceWord(word, IRREGULAR_SINGLES, IRREGULAR_PLURALS, PLURAL_RULES);
+    public static boolean isSingular(String word) {
+        return DEFAULT.isSingular(word);
     }
 
     /**
-     * Check if a word is plural
+     * Check if {@code word[offset, offset + length)} is singular
      */
-    public static boolean isPlural(String word) {
-        return checkWord(word, IRREGULAR_SINGLES, IRREGULAR_PLURALS, PLURAL_RULES);
+    public static boolean isSingular(CharSequence word, int offset, int length) {
+        return DEFAULT.isSingular(word, offset, length);
     }
 
     /**
-     * Singularize a word.
+     * Check if the UTF-8 word {@code word[offset, offset + length)} is singular.
      */
-    public static String singular(String word) {
-        return replaceWord(word, IRREGULAR_PLURALS, IRREGULAR_SINGLES, SINGULAR_RULES);
+    public static boolean isSingular(ByteBuffer word, int offset, int length) {
+        return DEFAULT.isSingular(word, offset, length);
     }
 
     /**
-     * Check if a word is singular
+     * Pluralize the last word of an identifier, e.g. {@code UserAccount} becomes {@code UserAccounts}.
      */
-    public static boolean isSingular(String word) {
-        return checkWord(word, IRREGULAR_PLURALS, IRREGULAR_SINGLES, SINGULAR_RULES);
+    public static String pluralIdentifier(String identifier) {
+        return DEFAULT.pluralIdentifier(identifier);
+    }
+
+    /**
+     * Pluralize the last word of the identifier {@code identifier[offset, offset + length)} and append the result
+     */
+    public static void pluralIdentifier(CharSequence identifier, int offset, int length, StringBuilder out) {
+        DEFAULT.pluralIdentifier(identifier, offset, length, out);
+    }
+
+    /**
+     * Singularize the last word of an identifier, e.g. {@code UserAccounts} becomes {@code UserAccount}.
+     */
+    public static String singularIdentifier(String identifier) {
+        return DEFAULT.singularIdentifier(identifier);
+    }
+
+    /**
+     * Singularize the last word of the identifier {@code identifier[offset, offset + length)} and append the
+     * result
+     */
+    public static void singularIdentifier(CharSequence identifier, int offset, int length, StringBuilder out) {
+        DEFAULT.singularIdentifier(identifier, offset, length, out);
+    }
+
+    /**
+     * Pluralize and singularize every word in parallel to fill the caches, and return once all of them are done.
+     */
+    public static WarmUp warmUp(Collection<String> words) {
+        return DEFAULT.warmUp(words);
+    }
+
+    /**
+     * Pluralize and singularize every word of a word list in parallel to fill the caches, and return once all of
+     * them are done.
+     */
+    public static WarmUp warmUp(Path wordList) throws IOException {
+        return DEFAULT.warmUp(wordList);
     }
 
     /**
      * Add a pluralization rule to the collection.
      */
     public static void addPluralRule(String word, String replacement) {
-        PLURAL_RULES.add(sanitizeRule(word), replacement);
+        DEFAULT.addPluralRule(word, replacement);
     }
 
     /**
      * Add a pluralization rule to the collection.
      */
     public static void addPluralRule(Pattern rule, String replacement) {
-        PLURAL_RULES.add(rule, replacement);
+        DEFAULT.addPluralRule(rule, replacement);
     }
 
     /**
      * Add a singularization rule to the collection.
      */
     public static void addSingularRule(String word, String replacement) {
-        SINGULAR_RULES.add(sanitizeRule(word), replacement);
+        DEFAULT.addSingularRule(word, replacement);
     }
 
     /**
      * Add a singularization rule to the collection.
      */
     public static void addSingularRule(Pattern rule, String replacement) {
-        SINGULAR_RULES.add(rule, replacement);
+        DEFAULT.addSingularRule(rule, replacement);
     }
 
     /**
      * Add an uncountable word rule.
      */
     public static void addUncountableRule(String word) {
-        UNCOUNTABLES.add(word.toLowerCase());
+        DEFAULT.addUncountableRule(word);
     }
 
     /**
      * Add an uncountable word rule.
      */
     public static void addUncountableRule(Pattern pattern) {
-        addSingularRule(pattern, "$0");
-        addPluralRule(pattern, "$0");
+        DEFAULT.addUncountableRule(pattern);
     }
 
     /**
      * Add an irregular word definition.
      */
     public static void addIrregularRule(String single, String plural) {
-        single = single.toLowerCase();
-        plural = plural.toLowerCase();
-
-        IRREGULAR_SINGLES.put(single, plural);
-        IRREGULAR_PLURALS.put(plural, single);
-    }
-
-    static {
-
-        /*
-         * Irregular rules.
-         */
-        // Pronouns.
-        addIrregularRule("I", "we");
-        addIrregularRule("me", "us");
-        addIrregularRule("he", "they");
-        addIrregularRule("she", "they");
-        addIrregularRule("them", "them");
-        addIrregularRule("myself", "ourselves");
-        addIrregularRule("yourself", "yourselves");
-        addIrregularRule("itself", "themselves");
-        addIrregularRule("herself", "themselves");
-        addIrregularRule("himself", "themselves");
-        addIrregularRule("themself", "themselves");
-        addIrregularRule("is", "are");
-        addIrregularRule("was", "were");
-        addIrregularRule("has", "have");
-        addIrregularRule("this", "these");
-        addIrregularRule("that", "those");
-
-        // Words ending in with a consonant and `o`.
-        addIrregularRule("echo", "echoes");
-        addIrregularRule("dingo", "dingoes");
-        addIrregularRule("volcano", "volcanoes");
-        addIrregularRule("tornado", "tornadoes");
-        addIrregularRule("torpedo", "torpedoes");
-
-        // Ends with `us`.
-        addIrregularRule("genus", "genera");
-        addIrregularRule("viscus", "viscera");
-
-        // Ends with `ma`.
-        addIrregularRule("stigma", "stigmata");
-        addIrregularRule("stoma", "stomata");
-        addIrregularRule("dogma", "dogmata");
-        addIrregularRule("lemma", "lemmata");
-        addIrregularRule("schema", "schemata");
-        addIrregularRule("anathema", "anathemata");
-
-        // Other irregular rules.
-        addIrregularRule("ox", "oxen");
-        addIrregularRule("axe", "axes");
-        addIrregularRule("die", "dice");
-        addIrregularRule("yes", "yeses");
-        addIrregularRule("foot", "feet");
-        addIrregularRule("eave", "eaves");
-        addIrregularRule("goose", "geese");
-        addIrregularRule("tooth", "teeth");
-        addIrregularRule("quiz", "quizzes");
-        addIrregularRule("human", "humans");
-        addIrregularRule("proof", "proofs");
-        addIrregularRule("carve", "carves");
-        addIrregularRule("valve", "valves");
-        addIrregularRule("looey", "looies");
-        addIrregularRule("thief", "thieves");
-        addIrregularRule("groove", "grooves");
-        addIrregularRule("pickaxe", "pickaxes");
-        addIrregularRule("passerby", "passersby");
-
-        /*
-         * Pluralization rules.
-         */
-        addPluralRule(p("s?$"), "s");
-        addPluralRule(p("[^\\u0000-\\u007F]$"), "$0");
-        addPluralRule(p("([^aeiou]ese)$"), "$1");
-        addPluralRule(p("(ax|test)is$"), "$1es");
-        addPluralRule(p("(alias|[^aou]us|t[lm]as|gas|ris)$"), "$1es");
-        addPluralRule(p("(e[mn]u)s?$"), "$1s");
-        addPluralRule(p("([^l]ias|[aeiou]las|[ejzr]as|[iu]am)$"), "$1");
-        addPluralRule(p("(alumn|syllab|vir|radi|nucle|fung|cact|stimul|termin|bacill|foc|uter|loc|strat)(?:us|i)$"), "$1i");
-        addPluralRule(p("(alumn|alg|vertebr)(?:a|ae)$"), "$1ae");
-        addPluralRule(p("(seraph|cherub)(?:im)?$"), "$1im");
-        addPluralRule(p("(her|at|gr)o$"), "$1oes");
-        addPluralRule(p("(agend|addend|millenni|dat|extrem|bacteri|desiderat|strat|candelabr|errat|ov|symposi|curricul|automat|quor)(?:a|um)$"), "$1a");
-        addPluralRule(p("(apheli|hyperbat|periheli|asyndet|noumen|phenomen|criteri|organ|prolegomen|hedr|automat)(?:a|on)$"), "$1a");
-        addPluralRule(p("sis$"), "ses");
-        addPluralRule(p("(?:(kni|wi|li)fe|(ar|l|ea|eo|oa|hoo)f)$"), "$1$2ves");
-        addPluralRule(p("([^aeiouy]|qu)y$"), "$1ies");
-        addPluralRule(p("([^ch][ieo][ln])ey$"), "$1ies");
-        addPluralRule(p("(x|ch|ss|sh|zz)$"), "$1es");
-        addPluralRule(p("(matr|cod|mur|sil|vert|ind|append)(?:ix|ex)$"), "$1ices");
-        addPluralRule(p("\\b((?:tit)?m|l)(?:ice|ouse)$"), "$1ice");
-        addPluralRule(p("(pe)(?:rson|ople)$"), "$1ople");
-        addPluralRule(p("(child)(?:ren)?$"), "$1ren");
-        addPluralRule(p("eaux$"), "$0");
-        addPluralRule(p("m[ae]n$"), "men");
-        addPluralRule(p("^thou$"), "you");
-
-        /*
-         * Singularization rules.
-         */
-        addSingularRule(p("s$"), "");
-        addSingularRule(p("(ss)$"), "$1");
-        addSingularRule(p("(wi|kni|(?:after|half|high|low|mid|non|night|[^\\w]|^)li)ves$"), "$1fe");
-        addSingularRule(p("(ar|(?:wo|[ae])l|[eo][ao])ves$"), "$1f");
-        addSingularRule(p("ies$"), "y");
-        addSingularRule(p("(dg|ss|ois|lk|ok|wn|mb|th|ch|ec|oal|is|ck|ix|sser|ts|wb)ies$"), "$1ie");
-        addSingularRule(p("\\b(l|(?:neck|cross|hog|aun)?t|coll|faer|food|gen|goon|group|hipp|junk|vegg|(?:pork)?p|charl|calor|cut)ies$"), "$1ie");
-        addSingularRule(p("\\b(mon|smil)ies$"), "$1ey");
-        addSingularRule(p("\\b((?:tit)?m|l)ice$"), "$1ouse");
-        addSingularRule(p("(seraph|cherub)im$"), "$1");
-        addSingularRule(p("(x|ch|ss|sh|zz|tto|go|cho|alias|[^aou]us|t[lm]as|gas|(?:her|at|gr)o|[aeiou]ris)(?:es)?$"), "$1");
-        addSingularRule(p("(analy|diagno|parenthe|progno|synop|the|empha|cri|ne)(?:sis|ses)$"), "$1sis");
-        addSingularRule(p("(movie|twelve|abuse|e[mn]u)s$"), "$1");
-        addSingularRule(p("(test)(?:is|es)$"), "$1is");
-        addSingularRule(p("(alumn|syllab|vir|radi|nucle|fung|cact|stimul|termin|bacill|foc|uter|loc|strat)(?:us|i)$"), "$1us");
-        addSingularRule(p("(agend|addend|millenni|dat|extrem|bacteri|desiderat|strat|candelabr|errat|ov|symposi|curricul|quor)a$"), "$1um");
-        addSingularRule(p("(apheli|hyperbat|periheli|asyndet|noumen|phenomen|criteri|organ|prolegomen|hedr|automat)a$"), "$1on");
-        addSingularRule(p("(alumn|alg|vertebr)ae$"), "$1a");
-        addSingularRule(p("(cod|mur|sil|vert|ind)ices$"), "$1ex");
-        addSingularRule(p("(matr|append)ices$"), "$1ix");
-        addSingularRule(p("(pe)(rson|ople)$"), "$1rson");
-        addSingularRule(p("(child)ren$"), "$1");
-        addSingularRule(p("(eau)x?$"), "$1");
-        addSingularRule(p("men$"), "man");
-
-        /*
-         * Uncountable rules.
-         */
-        addUncountableRule("adulthood");
-        addUncountableRule("advice");
-        addUncountableRule("agenda");
-        addUncountableRule("aid");
-        addUncountableRule("aircraft");
-        addUncountableRule("alcohol");
-        addUncountableRule("ammo");
-        addUncountableRule("analytics");
-        addUncountableRule("anime");
-        addUncountableRule("athletics");
-        addUncountableRule("audio");
-        addUncountableRule("bison");
-        addUncountableRule("blood");
-        addUncountableRule("bream");
-        addUncountableRule("buffalo");
-        addUncountableRule("butter");
-        addUncountableRule("carp");
-        addUncountableRule("cash");
-        addUncountableRule("chassis");
-        addUncountableRule("chess");
-        addUncountableRule("clothing");
-        addUncountableRule("cod");
-        addUncountableRule("commerce");
-        addUncountableRule("cooperation");
-        addUncountableRule("corps");
-        addUncountableRule("debris");
-        addUncountableRule("diabetes");
-        addUncountableRule("digestion");
-        addUncountableRule("elk");
-        addUncountableRule("energy");
-        addUncountableRule("equipment");
-        addUncountableRule("excretion");
-        addUncountableRule("expertise");
-        addUncountableRule("firmware");
-        addUncountableRule("flounder");
-        addUncountableRule("fun");
-        addUncountableRule("gallows");
-        addUncountableRule("garbage");
-        addUncountableRule("graffiti");
-        addUncountableRule("hardware");
-        addUncountableRule("headquarters");
-        addUncountableRule("health");
-        addUncountableRule("herpes");
-        addUncountableRule("highjinks");
-        addUncountableRule("homework");
-        addUncountableRule("housework");
-        addUncountableRule("information");
-        addUncountableRule("jeans");
-        addUncountableRule("justice");
-        addUncountableRule("kudos");
-        addUncountableRule("labour");
-        addUncountableRule("literature");
-        addUncountableRule("machinery");
-        addUncountableRule("mackerel");
-        addUncountableRule("mail");
-        addUncountableRule("media");
-        addUncountableRule("mews");
-        addUncountableRule("moose");
-        addUncountableRule("music");
-        addUncountableRule("mud");
-        addUncountableRule("manga");
-        addUncountableRule("news");
-        addUncountableRule("only");
-        addUncountableRule("personnel");
-        addUncountableRule("pike");
-        addUncountableRule("plankton");
-        addUncountableRule("pliers");
-        addUncountableRule("police");
-        addUncountableRule("pollution");
-        addUncountableRule("premises");
-        addUncountableRule("rain");
-        addUncountableRule("research");
-        addUncountableRule("rice");
-        addUncountableRule("salmon");
-        addUncountableRule("scissors");
-        addUncountableRule("series");
-        addUncountableRule("sewage");
-        addUncountableRule("shambles");
-        addUncountableRule("shrimp");
-        addUncountableRule("software");
-        addUncountableRule("staff");
-        addUncountableRule("swine");
-        addUncountableRule("tennis");
-        addUncountableRule("traffic");
-        addUncountableRule("transportation");
-        addUncountableRule("trout");
-        addUncountableRule("tuna");
-        addUncountableRule("wealth");
-        addUncountableRule("welfare");
-        addUncountableRule("whiting");
-        addUncountableRule("wildebeest");
-        addUncountableRule("wildlife");
-        addUncountableRule("you");
-        addUncountableRule(p("pok[e\u00E9]mon$"));
-
-        // Regexes.
-        addUncountableRule(p("[^aeiou]ese$")); // "chinese", "japanese"
-        addUncountableRule(p("deer$")); // "deer", "reindeer"
-        addUncountableRule(p("fish$")); // "fish", "blowfish", "angelfish"
-        addUncountableRule(p("measles$"));
-        addUncountableRule(p("o[iu]s$")); // "carnivorous"
-        addUncountableRule(p("pox$")); // "chickpox", "smallpox"
-        addUncountableRule(p("sheep$"));
+        DEFAULT.addIrregularRule(single, plural);
+    }
+
+    /**
+     * Apply many changes at once, publishing a single new snapshot of the rules.
+     *
+     * @see Pluralizer#update(Consumer)
+     */
+    public static void update(Consumer<Pluralizer.Builder> change) {
+        DEFAULT.update(change);
+    }
+
+    /**
+     * Use the irregular words of a memory mapped lexicon, replacing the previous lexicon.
+     */
+    public static void setLexicon(Lexicon lexicon) {
+        DEFAULT.setLexicon(lexicon);
+    }
+
+    /**
+     * Replace all the rules with the ones of a rule file.
+     *
+     * @see Pluralizer#replaceRules(RuleFile)
+     */
+    public static void replaceRules(RuleFile file) {
+        DEFAULT.replaceRules(file);
     }
 
     public static Pattern p(String pattern) {
-        return Pattern.compile(pattern, Pattern.CASE_INSENSITIVE);
+        return Pluralizer.pattern(pattern);
     }
 }
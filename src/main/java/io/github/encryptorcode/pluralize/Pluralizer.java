@@ -0,0 +1,1285 @@
+package io.github.encryptorcode.pluralize;
+
+import io.github.encryptorcode.pluralize.entities.RegexRule;
+import io.github.encryptorcode.pluralize.entities.RegexRules;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+
+/**
+ * Pluralize and singularize words using an immutable snapshot of rules.
+ * <p>
+ * Reads never take a lock. Adding a rule copies the current {@link RuleSet}, compiles the copy and publishes it
+ * atomically, so concurrent calls either see all of a change or none of it.
+ */
+public class Pluralizer {
+    // Builders are reused per thread, unless a very long word made them grow. Not a lambda, which would add to the
+    // startup time.
+    private static final int MAX_REUSED_CAPACITY = 1024;
+    private static final ThreadLocal<StringBuilder> BUILDER = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder();
+        }
+    };
+
+    private final AtomicReference<RuleSet> rules;
+    // Result caches, null when caching is disabled.
+    private final ResultCache pluralCache;
+    private final ResultCache singularCache;
+    // Null unless results are shared with other processes.
+    private final SharedCache sharedCache;
+    private final CountRule countRule;
+
+    private Pluralizer(RuleSet rules, int cacheSize, SharedCache sharedCache, CountRule countRule) {
+        this.rules = new AtomicReference<>(rules);
+        this.sharedCache = sharedCache;
+        this.countRule = countRule;
+        this.pluralCache = cacheSize > 0 ? new ResultCache(cacheSize) : null;
+        this.singularCache = cacheSize > 0 ? new ResultCache(cacheSize) : null;
+    }
+
+    /**
+     * Create a builder without any rules.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Current snapshot of the rules.
+     */
+    public RuleSet getRules() {
+        return rules.get();
+    }
+
+    /**
+     * Statistics of the result cache, all zero when caching is disabled.
+     */
+    public CacheStats getCacheStats() {
+        if (pluralCache == null) {
+            return CacheStats.EMPTY;
+        }
+        return pluralCache.stats().plus(singularCache.stats());
+    }
+
+    /**
+     * Metrics of {@link #plural(String)}, {@link #isPlural(String)} and their overloads. Empty unless metrics
+     * were enabled with {@link Builder#metrics(boolean)}.
+     */
+    public InflectionMetrics getPluralMetrics() {
+        Metrics metrics = rules.get().metrics;
+        return metrics == null ? InflectionMetrics.EMPTY : metrics.plural.snapshot(false);
+    }
+
+    /**
+     * Metrics of {@link #singular(String)}, {@link #isSingular(String)} and their overloads. Empty unless metrics
+     * were enabled with {@link Builder#metrics(boolean)}.
+     */
+    public InflectionMetrics getSingularMetrics() {
+        Metrics metrics = rules.get().metrics;
+        return metrics == null ? InflectionMetrics.EMPTY : metrics.singular.snapshot(false);
+    }
+
+    /**
+     * Start counting the metrics of both directions from zero.
+     */
+    public void resetMetrics() {
+        Metrics metrics = rules.get().metrics;
+        if (metrics != null) {
+            metrics.plural.snapshot(true);
+            metrics.singular.snapshot(true);
+        }
+    }
+
+    /**
+     * Compile a rule regex, ignoring case. Unlike {@link Pluralize#p}, this doesn't load the default instance.
+     */
+    static Pattern pattern(String regex) {
+        return Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+    }
+
+    /**
+     * Pass in a word token to produce a function that can replicate the case on
+     * another word.
+     * <p>
+     * The token is {@code out[from, out.length())} and gets the case of {@code word[start, end)} in place. The
+     * case is classified in a single scan, falling back to {@link #restoreCase(String, String)} for words which
+     * aren't ASCII.
+     */
+    static void restoreCase(CharSequence word, int start, int end, StringBuilder out, int from) {
+        // Note: this is an additional safety check for Java
+        if (out.length() == from) {
+            return;
+        }
+
+        // Tokens are an exact match.
+        if (regionEquals(word, start, end, out, from)) {
+            return;
+        }
+
+        CaseShape shape = CaseShape.of(word, start, end);
+        if (shape == null || !shape.applyTo(out, from)) {
+            String token = out.substring(from);
+            out.setLength(from);
+            out.append(restoreCase(word.subSequence(start, end).toString(), token));
+        }
+    }
+
+    private static boolean regionEquals(CharSequence word, int start, int end, CharSequence token, int from) {
+        if (end - start != token.length() - from) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (word.charAt(i) != token.charAt(from + i - start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Restore the case using the {@link String} case mappings, which handle any word and locale.
+     */
+    private static String restoreCase(String word, String token) {
+        // Tokens are an exact match.
+        if (word.equals(token)) {
+            return token;
+        }
+
+        // Lower cased words. E.g. "hello".
+        if (word.equals(word.toLowerCase())) {
+            return token.toLowerCase();
+        }
+
+        // Upper cased words. E.g. "WHISKY".
+        if (word.equals(word.toUpperCase())) {
+            return token.toUpperCase();
+        }
+
+        // Title cased words. E.g. "Title".
+        if ('A' <= word.charAt(0) && word.charAt(0) <= 'Z') {
+            return String.valueOf(token.charAt(0)).toUpperCase() + token.substring(1).toLowerCase();
+        }
+
+        // Lower cased words. E.g. "test".
+        return token.toLowerCase();
+    }
+
+    /**
+     * Lower cased {@code word[start, end)}, used for all the lookups. Only copies the word when it isn't ASCII.
+     *
+     * @param shape The shape of {@code word[start, end)}
+     */
+    private static CharSequence lowerCase(CharSequence word, int start, int end, CaseShape shape) {
+        if (shape == CaseShape.LOWER) {
+            return CharSlice.of(word, start, end);
+        }
+        if (shape != null) {
+            return new CharSlice(word, start, end, true);
+        }
+        return word.subSequence(start, end).toString().toLowerCase();
+    }
+
+    /**
+     * Replace a word using a rule
+     * <p>
+     * The precompiled replacement of the rule is appended in a single pass, and then gets the case of the
+     * matched text. When the match is empty, the case of the last character is used.
+     */
+    static void replace(CharSequence word, Matcher matcher, RegexRule rule, StringBuilder out) {
+        int start = matcher.start();
+        int end = matcher.end();
+        out.append(word, 0, start);
+        int from = out.length();
+        rule.getTemplate().appendTo(word, matcher, out);
+        if (start == end) {
+            restoreCase(word, word.length() - 1, word.length(), out, from);
+        } else {
+            restoreCase(word, start, end, out, from);
+        }
+        out.append(word, end, word.length());
+    }
+
+    /**
+     * Cleared builder of the current thread. Only to be used for the duration of a single call.
+     */
+    private static StringBuilder localBuilder() {
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        return builder;
+    }
+
+    private static String release(StringBuilder builder) {
+        String result = builder.toString();
+        recycle(builder);
+        return result;
+    }
+
+    private static void recycle(StringBuilder builder) {
+        if (builder.capacity() > MAX_REUSED_CAPACITY) {
+            BUILDER.remove();
+        }
+    }
+
+    /**
+     * Sanitize a word by passing in the word and sanitization rule.
+     */
+    private static void sanitizeWord(CharSequence token, CharSequence word, WordTable uncountables,
+                                     CompiledRules rules, StringBuilder out) {
+        if (token.length() == 0 || uncountables.contains(token)) {
+            if (rules.metrics != null && token.length() > 0) {
+                rules.metrics.uncountableHit();
+            }
+            out.append(word);
+            return;
+        }
+
+        if (rules.isSpecialized(word)) {
+            if (!rules.applySpecialized(word, out)) {
+                out.append(word);
+            }
+            return;
+        }
+
+        // Iterate over the sanitization rules which can match and use the last one to match.
+        BitSet candidates = rules.candidates(word);
+        int evaluated = 0;
+        for (int i = candidates.length() - 1; i >= 0; i = candidates.previousSetBit(i - 1)) {
+            RegexRule rule = rules.rules.get(i);
+            Matcher matcher = rule.matcher(word);
+            evaluated++;
+            if (matcher.find()) {
+                if (rules.metrics != null) {
+                    rules.metrics.ruleHit(rule, evaluated);
+                }
+                replace(word, matcher, rule, out);
+                return;
+            }
+        }
+        if (rules.metrics != null) {
+            rules.metrics.noRuleHit(evaluated);
+        }
+        out.append(word);
+    }
+
+    /**
+     * Replace a word with the updated word.
+     * <p>
+     * Appends the replacement of {@code word[start, end)} to the output, without any intermediate strings for
+     * ASCII words.
+     */
+    private static void replaceWord(CharSequence word, int start, int end, CaseShape shape, WordTable replaceMap,
+                                    WordTable keepMap, WordTable uncountables, CompiledRules rules,
+                                    StringBuilder out) {
+        CharSequence token = lowerCase(word, start, end, shape);
+        int from = out.length();
+
+        if (keepMap.contains(token)) {
+            if (rules.metrics != null) {
+                rules.metrics.irregularHit();
+            }
+            out.append(token);
+            restoreCase(word, start, end, out, from);
+            return;
+        }
+
+        String replacement = replaceMap.get(token);
+        if (replacement != null) {
+            if (rules.metrics != null) {
+                rules.metrics.irregularHit();
+            }
+            out.append(replacement);
+            restoreCase(word, start, end, out, from);
+            return;
+        }
+
+        sanitizeWord(token, CharSlice.of(word, start, end), uncountables, rules, out);
+    }
+
+    private static String replaceWord(String word, CaseShape shape, WordTable replaceMap, WordTable keepMap,
+                                      WordTable uncountables, CompiledRules rules) {
+        StringBuilder out = localBuilder();
+        replaceWord(word, 0, word.length(), shape, replaceMap, keepMap, uncountables, rules, out);
+        return release(out);
+    }
+
+    /**
+     * Check if a word is part of the map
+     */
+    private static boolean checkWord(CharSequence word, int start, int end, WordTable replaceMap, WordTable keepMap,
+                                     WordTable uncountables, CompiledRules rules) {
+        CharSequence token = lowerCase(word, start, end, CaseShape.of(word, start, end));
+
+        boolean keep = keepMap.contains(token);
+        if (keep || replaceMap.contains(token)) {
+            if (rules.metrics != null) {
+                rules.metrics.irregularHit();
+            }
+            return keep;
+        }
+
+        return isUnchanged(token, uncountables, rules);
+    }
+
+    /**
+     * Whether sanitizing a lower cased token leaves it unchanged. The last rule to match is compared with the
+     * token in place, and only replacements with upper case or non ASCII literals are built to compare them.
+     */
+    private static boolean isUnchanged(CharSequence token, WordTable uncountables, CompiledRules rules) {
+        if (token.length() == 0 || uncountables.contains(token)) {
+            if (rules.metrics != null && token.length() > 0) {
+                rules.metrics.uncountableHit();
+            }
+            return true;
+        }
+
+        if (rules.isSpecialized(token)) {
+            StringBuilder out = localBuilder();
+            boolean unchanged = !rules.applySpecialized(token, out) || regionEquals(token, 0, token.length(), out, 0);
+            recycle(out);
+            return unchanged;
+        }
+
+        BitSet candidates = rules.candidates(token);
+        int evaluated = 0;
+        for (int i = candidates.length() - 1; i >= 0; i = candidates.previousSetBit(i - 1)) {
+            RegexRule rule = rules.rules.get(i);
+            Matcher matcher = rule.matcher(token);
+            evaluated++;
+            if (matcher.find()) {
+                if (rules.metrics != null) {
+                    rules.metrics.ruleHit(rule, evaluated);
+                }
+                // The token is lower case, so the case of a lower case replacement is left as it is.
+                if (rule.getTemplate().isLowerCase()) {
+                    return rule.getTemplate().matches(token, matcher, token, matcher.start(), matcher.end());
+                }
+                StringBuilder out = localBuilder();
+                replace(token, matcher, rule, out);
+                boolean unchanged = regionEquals(token, 0, token.length(), out, 0);
+                recycle(out);
+                return unchanged;
+            }
+        }
+        if (rules.metrics != null) {
+            rules.metrics.noRuleHit(evaluated);
+        }
+        return true;
+    }
+
+    /**
+     * Whether to look the word up in the inflection table first. Tables only have lower cased ASCII words.
+     */
+    private static boolean isTabled(RuleSet rules, CaseShape shape) {
+        return rules.matchingTable != null && shape == CaseShape.LOWER;
+    }
+
+    private static long startTime(RuleSet rules) {
+        return rules.metrics == null ? 0 : System.nanoTime();
+    }
+
+    private static void recordLatency(CompiledRules rules, long start) {
+        if (rules.metrics != null) {
+            rules.metrics.latency(System.nanoTime() - start);
+        }
+    }
+
+    private static void checkRange(CharSequence word, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > word.length() - length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", word length " +
+                    word.length());
+        }
+    }
+
+    private static void checkRange(ByteBuffer word, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > word.limit() - length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", buffer limit " +
+                    word.limit());
+        }
+    }
+
+    /**
+     * Whether the count takes the singular form, according to the {@link CountRule} of this instance.
+     */
+    public boolean isSingularCount(long count) {
+        return countRule.isSingular(count);
+    }
+
+    /**
+     * Pluralize or singularize a word based on the passed in count.
+     *
+     * @param word The word to pluralize
+     */
+    public String pluralize(String word) {
+        return pluralize(word, null);
+    }
+
+    /**
+     * Pluralize or singularize a word based on the passed in count.
+     *
+     * @param word  The word to pluralize
+     * @param count How many of the word exist
+     */
+    public String pluralize(String word, Integer count) {
+        return pluralize(word, count, false);
+    }
+
+    /**
+     * Pluralize or singularize a word based on the passed in count.
+     *
+     * @param word      The word to pluralize
+     * @param count     How many of the word exist, or null for the plural without a number
+     * @param inclusive Whether to prefix with the number (e.g. 3 ducks)
+     */
+    public String pluralize(String word, Integer count, boolean inclusive) {
+        String pluralized = count != null && countRule.isSingular(count) ? singular(word) : plural(word);
+        return (inclusive && count != null ? count + " " : "") + pluralized;
+    }
+
+    /**
+     * Pluralize or singularize a word based on the passed in count, and append the result. Neither the count nor
+     * ASCII words are copied, and the result cache is not used.
+     *
+     * @param word      The word to pluralize
+     * @param count     How many of the word exist
+     * @param inclusive Whether to prefix with the number (e.g. 3 ducks)
+     * @param out       Receives the result
+     */
+    public void pluralize(CharSequence word, long count, boolean inclusive, StringBuilder out) {
+        if (inclusive) {
+            out.append(count).append(' ');
+        }
+        if (countRule.isSingular(count)) {
+            singular(word, 0, word.length(), out);
+        } else {
+            plural(word, 0, word.length(), out);
+        }
+    }
+
+    /**
+     * Pluralize or singularize a word based on the passed in count, and append the result. The result cache is
+     * not used.
+     *
+     * @param word      The word to pluralize
+     * @param count     How many of the word exist
+     * @param inclusive Whether to prefix with the number (e.g. 3 ducks)
+     * @param out       Receives the result
+     */
+    public void pluralize(CharSequence word, long count, boolean inclusive, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            pluralize(word, count, inclusive, (StringBuilder) out);
+            return;
+        }
+        StringBuilder builder = localBuilder();
+        pluralize(word, count, inclusive, builder);
+        out.append(builder);
+        recycle(builder);
+    }
+
+    /**
+     * Pluralize a word
+     */
+    public String plural(String word) {
+        return plural(rules.get(), word);
+    }
+
+    private String plural(RuleSet rules, String word) {
+        return plural(rules, word, CaseShape.of(word, 0, word.length()));
+    }
+
+    /**
+     * Same as {@link #plural(RuleSet, String)}, for a word whose shape is known already.
+     */
+    private String plural(RuleSet rules, String word, CaseShape shape) {
+        long start = startTime(rules);
+        String result = null;
+        if (isTabled(rules, shape)) {
+            result = rules.matchingTable.plural(word);
+            if (result != null && rules.pluralRules.metrics != null) {
+                rules.pluralRules.metrics.tableHit();
+            }
+        }
+
+        if (result == null && pluralCache == null) {
+            result = sharedPlural(rules, word, shape);
+        } else if (result == null) {
+            result = pluralCache.get(word, rules.version);
+            if (result == null) {
+                result = sharedPlural(rules, word, shape);
+                pluralCache.put(word, result, rules.version);
+            }
+        }
+        recordLatency(rules.pluralRules, start);
+        return result;
+    }
+
+    /**
+     * Apply the rules, through the shared cache when there is one.
+     */
+    private String sharedPlural(RuleSet rules, String word, CaseShape shape) {
+        if (sharedCache == null) {
+            return replaceWord(word, shape, rules.singles, rules.plurals, rules.uncountableWords, rules.pluralRules);
+        }
+        long stamp = rules.fingerprint;
+        String result = sharedCache.get(stamp, word);
+        if (result == null) {
+            result = replaceWord(word, shape, rules.singles, rules.plurals, rules.uncountableWords, rules.pluralRules);
+            sharedCache.put(stamp, word, result);
+        }
+        return result;
+    }
+
+    /**
+     * Pluralize {@code word[offset, offset + length)} and append the result. Nothing is copied for ASCII words,
+     * and the result cache is not used.
+     */
+    public void plural(CharSequence word, int offset, int length, StringBuilder out) {
+        checkRange(word, offset, length);
+        RuleSet rules = this.rules.get();
+        long start = startTime(rules);
+        CaseShape shape = CaseShape.of(word, offset, offset + length);
+        if (isTabled(rules, shape) && rules.matchingTable.appendPlural(word, offset, offset + length, out)) {
+            if (rules.pluralRules.metrics != null) {
+                rules.pluralRules.metrics.tableHit();
+            }
+        } else {
+            replaceWord(word, offset, offset + length, shape, rules.singles, rules.plurals, rules.uncountableWords,
+                    rules.pluralRules, out);
+        }
+        recordLatency(rules.pluralRules, start);
+    }
+
+    /**
+     * Pluralize {@code word[offset, offset + length)} and append the result. The result cache is not used.
+     */
+    public void plural(CharSequence word, int offset, int length, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            plural(word, offset, length, (StringBuilder) out);
+            return;
+        }
+        StringBuilder builder = localBuilder();
+        plural(word, offset, length, builder);
+        out.append(builder);
+        recycle(builder);
+    }
+
+    /**
+     * Pluralize the UTF-8 word {@code word[offset, offset + length)} and put the UTF-8 result at the position of
+     * {@code out}. ASCII words are read in place and not decoded, and the result cache is not used.
+     *
+     * @throws java.nio.BufferOverflowException When {@code out} doesn't have room for the result, which leaves it
+     *                                          unchanged
+     */
+    public void plural(ByteBuffer word, int offset, int length, ByteBuffer out) {
+        checkRange(word, offset, length);
+        if (Utf8.isAscii(word, offset, length)) {
+            StringBuilder builder = localBuilder();
+            plural(Utf8.ascii(word, offset, length), 0, length, builder);
+            Utf8.encode(builder, out);
+            recycle(builder);
+        } else {
+            Utf8.encode(plural(Utf8.decode(word, offset, length)), out);
+        }
+    }
+
+    /**
+     * Pluralize many words, in parallel for large batches. All of them use the same snapshot of the rules.
+     *
+     * @param words   The words to pluralize
+     * @param results Receives the plural of {@code words[i]} at index {@code i}
+     */
+    public void plural(String[] words, String[] results) {
+        RuleSet rules = this.rules.get();
+        BatchInflector.inflect(words, results, (word, shape) -> plural(rules, word, shape));
+    }
+
+    /**
+     * Pluralize many words, in parallel for large batches. All of them use the same snapshot of the rules.
+     *
+     * @param words   The words to pluralize
+     * @param results Receives the plural of {@code words.get(i)} at index {@code i}
+     */
+    public void plural(List<String> words, String[] results) {
+        plural(words.toArray(new String[0]), results);
+    }
+
+    /**
+     * Pluralize many words, in parallel for large batches. All of them use the same snapshot of the rules.
+     *
+     * @param words   The words to pluralize, in encounter order
+     * @param results Receives the plurals in encounter order
+     */
+    public void plural(Stream<String> words, String[] results) {
+        plural(words.toArray(String[]::new), results);
+    }
+
+    /**
+     * Check if a word is plural
+     */
+    public boolean isPlural(String word) {
+        return isPlural(word, 0, word.length());
+    }
+
+    /**
+     * Check if {@code word[offset, offset + length)} is plural
+     */
+    public boolean isPlural(CharSequence word, int offset, int length) {
+        checkRange(word, offset, length);
+        RuleSet rules = this.rules.get();
+        long start = startTime(rules);
+        boolean result = checkWord(word, offset, offset + length, rules.singles, rules.plurals, rules.uncountableWords,
+                rules.pluralRules);
+        recordLatency(rules.pluralRules, start);
+        return result;
+    }
+
+    /**
+     * Check if the UTF-8 word {@code word[offset, offset + length)} is plural. ASCII words are read in place.
+     */
+    public boolean isPlural(ByteBuffer word, int offset, int length) {
+        checkRange(word, offset, length);
+        if (Utf8.isAscii(word, offset, length)) {
+            return isPlural(Utf8.ascii(word, offset, length), 0, length);
+        }
+        return isPlural(Utf8.decode(word, offset, length));
+    }
+
+    /**
+     * Singularize a word.
+     */
+    public String singular(String word) {
+        return singular(rules.get(), word);
+    }
+
+    private String singular(RuleSet rules, String word) {
+        return singular(rules, word, CaseShape.of(word, 0, word.length()));
+    }
+
+    /**
+     * Same as {@link #singular(RuleSet, String)}, for a word whose shape is known already.
+     */
+    private String singular(RuleSet rules, String word, CaseShape shape) {
+        long start = startTime(rules);
+        String result = null;
+        if (isTabled(rules, shape)) {
+            result = rules.matchingTable.singular(word);
+            if (result != null && rules.singularRules.metrics != null) {
+                rules.singularRules.metrics.tableHit();
+            }
+        }
+
+        if (result == null && singularCache == null) {
+            result = sharedSingular(rules, word, shape);
+        } else if (result == null) {
+            result = singularCache.get(word, rules.version);
+            if (result == null) {
+                result = sharedSingular(rules, word, shape);
+                singularCache.put(word, result, rules.version);
+            }
+        }
+        recordLatency(rules.singularRules, start);
+        return result;
+    }
+
+    /**
+     * Apply the rules, through the shared cache when there is one.
+     */
+    private String sharedSingular(RuleSet rules, String word, CaseShape shape) {
+        if (sharedCache == null) {
+            return replaceWord(word, shape, rules.plurals, rules.singles, rules.uncountableWords, rules.singularRules);
+        }
+        // Complemented, so the stamps of the two directions differ.
+        long stamp = ~rules.fingerprint;
+        String result = sharedCache.get(stamp, word);
+        if (result == null) {
+            result = replaceWord(word, shape, rules.plurals, rules.singles, rules.uncountableWords, rules.singularRules);
+            sharedCache.put(stamp, word, result);
+        }
+        return result;
+    }
+
+    /**
+     * Singularize {@code word[offset, offset + length)} and append the result. Nothing is copied for ASCII words,
+     * and the result cache is not used.
+     */
+    public void singular(CharSequence word, int offset, int length, StringBuilder out) {
+        checkRange(word, offset, length);
+        RuleSet rules = this.rules.get();
+        long start = startTime(rules);
+        CaseShape shape = CaseShape.of(word, offset, offset + length);
+        if (isTabled(rules, shape) && rules.matchingTable.appendSingular(word, offset, offset + length, out)) {
+            if (rules.singularRules.metrics != null) {
+                rules.singularRules.metrics.tableHit();
+            }
+        } else {
+            replaceWord(word, offset, offset + length, shape, rules.plurals, rules.singles, rules.uncountableWords,
+                    rules.singularRules, out);
+        }
+        recordLatency(rules.singularRules, start);
+    }
+
+    /**
+     * Singularize {@code word[offset, offset + length)} and append the result. The result cache is not used.
+     */
+    public void singular(CharSequence word, int offset, int length, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            singular(word, offset, length, (StringBuilder) out);
+            return;
+        }
+        StringBuilder builder = localBuilder();
+        singular(word, offset, length, builder);
+        out.append(builder);
+        recycle(builder);
+    }
+
+    /**
+     * Singularize the UTF-8 word {@code word[offset, offset + length)} and put the UTF-8 result at the position of
+     * {@code out}. ASCII words are read in place and not decoded, and the result cache is not used.
+     *
+     * @throws java.nio.BufferOverflowException When {@code out} doesn't have room for the result, which leaves it
+     *                                          unchanged
+     */
+    public void singular(ByteBuffer word, int offset, int length, ByteBuffer out) {
+        checkRange(word, offset, length);
+        if (Utf8.isAscii(word, offset, length)) {
+            StringBuilder builder = localBuilder();
+            singular(Utf8.ascii(word, offset, length), 0, length, builder);
+            Utf8.encode(builder, out);
+            recycle(builder);
+        } else {
+            Utf8.encode(singular(Utf8.decode(word, offset, length)), out);
+        }
+    }
+
+    /**
+     * Singularize many words, in parallel for large batches. All of them use the same snapshot of the rules.
+     *
+     * @param words   The words to singularize
+     * @param results Receives the singular of {@code words[i]} at index {@code i}
+     */
+    public void singular(String[] words, String[] results) {
+        RuleSet rules = this.rules.get();
+        BatchInflector.inflect(words, results, (word, shape) -> singular(rules, word, shape));
+    }
+
+    /**
+     * Singularize many words, in parallel for large batches. All of them use the same snapshot of the rules.
+     *
+     * @param words   The words to singularize
+     * @param results Receives the singular of {@code words.get(i)} at index {@code i}
+     */
+    public void singular(List<String> words, String[] results) {
+        singular(words.toArray(new String[0]), results);
+    }
+
+    /**
+     * Singularize many words, in parallel for large batches. All of them use the same snapshot of the rules.
+     *
+     * @param words   The words to singularize, in encounter order
+     * @param results Receives the singulars in encounter order
+     */
+    public void singular(Stream<String> words, String[] results) {
+        singular(words.toArray(String[]::new), results);
+    }
+
+    /**
+     * Check if a word is singular
+     */
+    public boolean isSingular(String word) {
+        return isSingular(word, 0, word.length());
+    }
+
+    /**
+     * Check if {@code word[offset, offset + length)} is singular
+     */
+    public boolean isSingular(CharSequence word, int offset, int length) {
+        checkRange(word, offset, length);
+        RuleSet rules = this.rules.get();
+        long start = startTime(rules);
+        boolean result = checkWord(word, offset, offset + length, rules.plurals, rules.singles, rules.uncountableWords,
+                rules.singularRules);
+        recordLatency(rules.singularRules, start);
+        return result;
+    }
+
+    /**
+     * Check if the UTF-8 word {@code word[offset, offset + length)} is singular. ASCII words are read in place.
+     */
+    public boolean isSingular(ByteBuffer word, int offset, int length) {
+        checkRange(word, offset, length);
+        if (Utf8.isAscii(word, offset, length)) {
+            return isSingular(Utf8.ascii(word, offset, length), 0, length);
+        }
+        return isSingular(Utf8.decode(word, offset, length));
+    }
+
+    /**
+     * Pluralize the last word of an identifier, e.g. {@code UserAccount} becomes {@code UserAccounts},
+     * {@code order_line_item} becomes {@code order_line_items} and {@code UserID} becomes {@code UserIDs}. The rest
+     * of the identifier is kept as is.
+     */
+    public String pluralIdentifier(String identifier) {
+        return inflectIdentifier(identifier, true);
+    }
+
+    /**
+     * Pluralize the last word of the identifier {@code identifier[offset, offset + length)} and append the result.
+     * The result cache is not used.
+     */
+    public void pluralIdentifier(CharSequence identifier, int offset, int length, StringBuilder out) {
+        checkRange(identifier, offset, length);
+        inflectIdentifier(identifier, offset, offset + length, true, out);
+    }
+
+    /**
+     * Singularize the last word of an identifier, e.g. {@code UserAccounts} becomes {@code UserAccount}. The rest
+     * of the identifier is kept as is.
+     */
+    public String singularIdentifier(String identifier) {
+        return inflectIdentifier(identifier, false);
+    }
+
+    /**
+     * Singularize the last word of the identifier {@code identifier[offset, offset + length)} and append the
+     * result. The result cache is not used.
+     */
+    public void singularIdentifier(CharSequence identifier, int offset, int length, StringBuilder out) {
+        checkRange(identifier, offset, length);
+        inflectIdentifier(identifier, offset, offset + length, false, out);
+    }
+
+    private String inflectIdentifier(String identifier, boolean plural) {
+        int wordEnd = Identifiers.wordEnd(identifier, 0, identifier.length());
+        if (wordEnd == 0) {
+            return identifier;
+        }
+        // Plain words go through the table and the caches.
+        if (wordEnd == identifier.length() && Identifiers.wordStart(identifier, 0, wordEnd) == 0) {
+            return plural ? plural(identifier) : singular(identifier);
+        }
+        StringBuilder builder = localBuilder();
+        inflectIdentifier(identifier, 0, identifier.length(), plural, builder);
+        return release(builder);
+    }
+
+    /**
+     * Inflect the last word of {@code identifier[start, end)} in place of it, and copy everything else.
+     */
+    private void inflectIdentifier(CharSequence identifier, int start, int end, boolean plural, StringBuilder out) {
+        int wordEnd = Identifiers.wordEnd(identifier, start, end);
+        if (wordEnd == start) {
+            out.append(identifier, start, end);
+            return;
+        }
+        int wordStart = Identifiers.wordStart(identifier, start, wordEnd);
+        out.append(identifier, start, wordStart);
+        int from = out.length();
+        if (plural) {
+            plural(identifier, wordStart, wordEnd - wordStart, out);
+        } else {
+            singular(identifier, wordStart, wordEnd - wordStart, out);
+        }
+        if (Identifiers.isTrailingAcronym(identifier, start, wordStart, wordEnd)) {
+            Identifiers.lowerEnding(identifier, wordStart, wordEnd, out, from);
+        }
+        out.append(identifier, wordEnd, end);
+    }
+
+    /**
+     * Pluralize and singularize every word in parallel, and return once all of them are done. This fills the
+     * result cache and the shared cache of this instance, whichever it has, and compiles the patterns the words
+     * need, so the first calls don't pay for it. All the words use the same snapshot of the rules.
+     *
+     * @throws IllegalStateException                     If this instance has neither a result cache nor a shared
+     *                                                   cache
+     * @throws java.util.concurrent.CompletionException If inflecting a word failed
+     */
+    public WarmUp warmUp(Collection<String> words) {
+        return warmUpInBackground(words, ForkJoinPool.commonPool()).join();
+    }
+
+    /**
+     * Same as {@link #warmUp(Collection)}, for a word list with a word per line. Blank lines and lines starting
+     * with {@code #} are skipped.
+     */
+    public WarmUp warmUp(Path wordList) throws IOException {
+        return warmUp(InflectionTableGenerator.readWords(wordList));
+    }
+
+    /**
+     * Start pluralizing and singularizing every word on the executor, and return right away. Calls made in the
+     * meantime apply the rules to the words which aren't cached yet.
+     *
+     * @throws IllegalStateException If this instance has neither a result cache nor a shared cache
+     */
+    public WarmUp warmUpInBackground(Collection<String> words, Executor executor) {
+        if (pluralCache == null && sharedCache == null) {
+            throw new IllegalStateException("Nothing to warm up, the instance has no cache");
+        }
+        RuleSet rules = this.rules.get();
+        return WarmUp.start(words.toArray(new String[0]), executor, word -> {
+            plural(rules, word);
+            singular(rules, word);
+        });
+    }
+
+    /**
+     * Same as {@link #warmUpInBackground(Collection, Executor)}, for a word list with a word per line. The list is
+     * read before returning.
+     */
+    public WarmUp warmUpInBackground(Path wordList, Executor executor) throws IOException {
+        return warmUpInBackground(InflectionTableGenerator.readWords(wordList), executor);
+    }
+
+    /**
+     * Add a pluralization rule to the collection.
+     */
+    public void addPluralRule(String word, String replacement) {
+        update(builder -> builder.addPluralRule(word, replacement));
+    }
+
+    /**
+     * Add a pluralization rule to the collection.
+     */
+    public void addPluralRule(Pattern rule, String replacement) {
+        update(builder -> builder.addPluralRule(rule, replacement));
+    }
+
+    /**
+     * Add a singularization rule to the collection.
+     */
+    public void addSingularRule(String word, String replacement) {
+        update(builder -> builder.addSingularRule(word, replacement));
+    }
+
+    /**
+     * Add a singularization rule to the collection.
+     */
+    public void addSingularRule(Pattern rule, String replacement) {
+        update(builder -> builder.addSingularRule(rule, replacement));
+    }
+
+    /**
+     * Add an uncountable word rule.
+     */
+    public void addUncountableRule(String word) {
+        update(builder -> builder.addUncountableRule(word));
+    }
+
+    /**
+     * Add an uncountable word rule.
+     */
+    public void addUncountableRule(Pattern pattern) {
+        update(builder -> builder.addUncountableRule(pattern));
+    }
+
+    /**
+     * Add an irregular word definition.
+     */
+    public void addIrregularRule(String single, String plural) {
+        update(builder -> builder.addIrregularRule(single, plural));
+    }
+
+    /**
+     * Use the irregular words of a memory mapped lexicon, replacing the previous lexicon.
+     */
+    public void setLexicon(Lexicon lexicon) {
+        update(builder -> builder.withLexicon(lexicon));
+    }
+
+    /**
+     * Replace all the rules, keeping the lexicon, the table, the specialized rules and the metrics. The table and
+     * the specialized rules are used again whenever the rules match them. The new rules are compiled on the calling
+     * thread before they are published, so other calls never wait for them: calls in flight finish on the previous
+     * rules and later calls use the new ones. Retries when another change was published in the meantime, so the
+     * lexicon, table, specialized rules and metrics of that change are kept, and the consumer may run more than once.
+     * The rule hits of the metrics start over with the new rules.
+     *
+     * @param rules Adds the new rules to an empty builder
+     */
+    public void replaceRules(Consumer<Builder> rules) {
+        while (true) {
+            RuleSet current = this.rules.get();
+            Builder builder = new Builder();
+            builder.lexicon = current.lexicon;
+            builder.table = current.table;
+            builder.specializedRules = current.specializedRules;
+            builder.metrics = current.metrics == null ? null : current.metrics.forNewRules();
+            rules.accept(builder);
+
+            RuleSet replacement = builder.compile();
+            replacement.pluralRules.prepare();
+            replacement.singularRules.prepare();
+            if (this.rules.compareAndSet(current, replacement)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replace all the rules with the ones of a rule file, e.g. when the file changed.
+     *
+     * @see #replaceRules(Consumer)
+     */
+    public void replaceRules(RuleFile file) {
+        replaceRules(file::applyTo);
+    }
+
+    /**
+     * Apply many changes at once, e.g. to load thousands of irregular words. The current snapshot is copied, the
+     * change adds its rules to the copy, and a single new snapshot is published, where adding the rules one by one
+     * would copy and compile the snapshot for every rule. Retries when another change was published in the
+     * meantime, so concurrent additions are never lost, and the change may run more than once.
+     * <p>
+     * The cache size, shared cache and count rule of the builder are ignored, they are fixed when the instance is
+     * built.
+     *
+     * @param change Adds rules to a builder holding the current rules
+     */
+    public void update(Consumer<Builder> change) {
+        while (true) {
+            RuleSet current = rules.get();
+            Builder builder = new Builder(current);
+            change.accept(builder);
+            if (rules.compareAndSet(current, builder.compile())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Collects rules for a new {@link Pluralizer}. Builders are not thread safe.
+     */
+    public static class Builder {
+        // Rule storage - pluralize and singularize need to be run sequentially,
+        // while other rules can be optimized using an object for instant lookups.
+        private final RegexRules pluralRules = new RegexRules();
+        private final RegexRules singularRules = new RegexRules();
+        private final Set<String> uncountables = new LinkedHashSet<>();
+        private final Map<String, String> irregularPlurals = new HashMap<>();
+        private final Map<String, String> irregularSingles = new HashMap<>();
+        private int cacheSize;
+        private SharedCache sharedCache;
+        private CountRule countRule = CountRule.ONE;
+        private Lexicon lexicon;
+        private InflectionTable table;
+        private SpecializedRules specializedRules;
+        private Metrics metrics;
+
+        private Builder() {
+        }
+
+        private Builder(RuleSet rules) {
+            pluralRules.addAll(rules.pluralRules.rules);
+            singularRules.addAll(rules.singularRules.rules);
+            uncountables.addAll(rules.uncountables);
+            irregularPlurals.putAll(rules.irregularPlurals);
+            irregularSingles.putAll(rules.irregularSingles);
+            lexicon = rules.lexicon;
+            table = rules.table;
+            specializedRules = rules.specializedRules;
+            metrics = rules.metrics;
+        }
+
+        /**
+         * Sanitize a pluralization rule to a usable regular expression.
+         * <p>
+         * Note: Method used for converting {@link String} to {@link Pattern}.
+         * Method name can be misleading. We are trying to have the same name as in JS
+         */
+        private static Pattern sanitizeRule(String word) {
+            return pattern("^" + word + "$");
+        }
+
+        /**
+         * Add the built-in rules.
+         */
+        public Builder withDefaultRules() {
+            DefaultRules.apply(this);
+            return this;
+        }
+
+        /**
+         * Add a pluralization rule to the collection.
+         */
+        public Builder addPluralRule(String word, String replacement) {
+            pluralRules.add(sanitizeRule(word), replacement);
+            return this;
+        }
+
+        /**
+         * Add a pluralization rule to the collection.
+         */
+        public Builder addPluralRule(Pattern rule, String replacement) {
+            pluralRules.add(rule, replacement);
+            return this;
+        }
+
+        /**
+         * Add a singularization rule to the collection.
+         */
+        public Builder addSingularRule(String word, String replacement) {
+            singularRules.add(sanitizeRule(word), replacement);
+            return this;
+        }
+
+        /**
+         * Add a singularization rule to the collection.
+         */
+        public Builder addSingularRule(Pattern rule, String replacement) {
+            singularRules.add(rule, replacement);
+            return this;
+        }
+
+        /**
+         * Add a pluralization rule whose case insensitive pattern is only compiled when it is first used.
+         */
+        Builder addPluralPattern(String regex, String replacement) {
+            pluralRules.add(regex, Pattern.CASE_INSENSITIVE, replacement);
+            return this;
+        }
+
+        /**
+         * Add a singularization rule whose case insensitive pattern is only compiled when it is first used.
+         */
+        Builder addSingularPattern(String regex, String replacement) {
+            singularRules.add(regex, Pattern.CASE_INSENSITIVE, replacement);
+            return this;
+        }
+
+        /**
+         * Add an uncountable rule whose case insensitive pattern is only compiled when it is first used, separately
+         * for each direction.
+         */
+        Builder addUncountablePattern(String regex) {
+            addSingularPattern(regex, "$0");
+            addPluralPattern(regex, "$0");
+            return this;
+        }
+
+        /**
+         * Add an uncountable word rule.
+         */
+        public Builder addUncountableRule(String word) {
+            uncountables.add(word.toLowerCase());
+            return this;
+        }
+
+        /**
+         * Add an uncountable word rule.
+         */
+        public Builder addUncountableRule(Pattern pattern) {
+            addSingularRule(pattern, "$0");
+            addPluralRule(pattern, "$0");
+            return this;
+        }
+
+        /**
+         * Add an irregular word definition.
+         */
+        public Builder addIrregularRule(String single, String plural) {
+            single = single.toLowerCase();
+            plural = plural.toLowerCase();
+
+            irregularSingles.put(single, plural);
+            irregularPlurals.put(plural, single);
+            return this;
+        }
+
+        /**
+         * Cache up to this many results of {@link Pluralizer#plural(String)} and of {@link Pluralizer#singular(String)}.
+         * Caching is disabled by default, or when the size is 0.
+         */
+        public Builder cacheSize(int cacheSize) {
+            if (cacheSize < 0) {
+                throw new IllegalArgumentException("Cache size cannot be negative: " + cacheSize);
+            }
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        /**
+         * Share the results of {@link Pluralizer#plural(String)} and of {@link Pluralizer#singular(String)} with other
+         * processes which use the same cache file, or stop sharing them when null. The result cache, when enabled,
+         * is still consulted first.
+         */
+        public Builder sharedCache(SharedCache sharedCache) {
+            this.sharedCache = sharedCache;
+            return this;
+        }
+
+        /**
+         * Which counts take the singular form when pluralizing with a count. Defaults to {@link CountRule#ONE}.
+         */
+        public Builder countRule(CountRule countRule) {
+            if (countRule == null) {
+                throw new IllegalArgumentException("Count rule cannot be null");
+            }
+            this.countRule = countRule;
+            return this;
+        }
+
+        /**
+         * Add the irregular words of a memory mapped lexicon, replacing the previous lexicon. Irregular rules which
+         * are added to the builder win over the lexicon.
+         */
+        public Builder withLexicon(Lexicon lexicon) {
+            this.lexicon = lexicon;
+            return this;
+        }
+
+        /**
+         * Look words up in a table generated at build time before applying the rules. The table is only used while
+         * the rules are the ones it was generated with, so adding the same custom rules as the generator did keeps it
+         * in use.
+         */
+        public Builder withTable(InflectionTable table) {
+            this.table = table;
+            return this;
+        }
+
+        /**
+         * Apply the sanitization rules with a class generated by {@link SpecializedRulesGenerator}. Like a table, the
+         * class is only used while the rules are the ones it was generated with, and not while metrics are enabled.
+         */
+        public Builder withSpecializedRules(SpecializedRules specializedRules) {
+            this.specializedRules = specializedRules;
+            return this;
+        }
+
+        /**
+         * Record which rules match, how many rules are tried per word, the call latency and how often irregular
+         * and uncountable words answer. Disabled by default, which costs only a null check per call.
+         */
+        public Builder metrics(boolean enabled) {
+            this.metrics = enabled ? new Metrics() : null;
+            return this;
+        }
+
+        private RuleSet compile() {
+            return new RuleSet(pluralRules, singularRules, uncountables, irregularPlurals, irregularSingles, lexicon,
+                    table, specializedRules, metrics);
+        }
+
+        public Pluralizer build() {
+            return new Pluralizer(compile(), cacheSize, sharedCache, countRule);
+        }
+    }
+}
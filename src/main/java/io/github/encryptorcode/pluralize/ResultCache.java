@@ -0,0 +1,130 @@
+package io.github.encryptorcode.pluralize;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Two tier cache of inflected words.
+ * <p>
+ * The first tier is a small direct-mapped table per thread, which needs no synchronization at all. The second tier
+ * is a bounded concurrent map shared by all threads. When it is full, entries are evicted in insertion order,
+ * except that frequently used entries get a second chance with their frequency halved.
+ * <p>
+ * Every entry is stamped with the version of the {@link RuleSet} which produced it. Entries of older versions are
+ * treated as misses and replaced lazily, so changing the rules never needs a full flush.
+ */
+final class ResultCache {
+    private static final int MAX_L1_SIZE = 256;
+    private static final int MAX_FREQUENCY = 15;
+    private static final int MAX_SECOND_CHANCES = 64;
+
+    private final int maximumSize;
+    private final int l1Mask;
+    private final ThreadLocal<Entry[]> l1;
+    private final ConcurrentHashMap<String, Entry> l2;
+    private final Queue<String> order = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    ResultCache(int maximumSize) {
+        int l1Size = Math.min(MAX_L1_SIZE, Integer.highestOneBit(maximumSize));
+        this.maximumSize = maximumSize;
+        this.l1Mask = l1Size - 1;
+        this.l1 = ThreadLocal.withInitial(() -> new Entry[l1Size]);
+        this.l2 = new ConcurrentHashMap<>(Math.min(maximumSize, 1 << 16));
+    }
+
+    /**
+     * Cached result for the word, or null when there isn't one for this version of the rules.
+     */
+    String get(String word, long version) {
+        Entry[] local = l1.get();
+        int slot = spread(word.hashCode()) & l1Mask;
+        Entry entry = local[slot];
+        if (entry != null && entry.version == version && entry.word.equals(word)) {
+            entry.touch();
+            l1Hits.increment();
+            return entry.result;
+        }
+
+        entry = l2.get(word);
+        if (entry != null && entry.version == version) {
+            entry.touch();
+            local[slot] = entry;
+            l2Hits.increment();
+            return entry.result;
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    void put(String word, String result, long version) {
+        Entry entry = new Entry(word, result, version);
+        l1.get()[spread(word.hashCode()) & l1Mask] = entry;
+        if (l2.put(word, entry) == null) {
+            order.offer(word);
+            if (l2.size() > maximumSize) {
+                evict(version);
+            }
+        }
+    }
+
+    private void evict(long version) {
+        for (int chances = 0; ; chances++) {
+            String word = order.poll();
+            if (word == null) {
+                return;
+            }
+            Entry entry = l2.get(word);
+            if (entry == null) {
+                continue;
+            }
+            if (chances < MAX_SECOND_CHANCES && entry.version == version && entry.frequency > 0) {
+                entry.frequency >>= 1;
+                order.offer(word);
+                continue;
+            }
+            if (l2.remove(word, entry)) {
+                evictions.increment();
+                return;
+            }
+            // Replaced concurrently. A replacing put doesn't queue the word, and it was just taken off the queue,
+            // so it goes back, and another word is evicted instead.
+            order.offer(word);
+        }
+    }
+
+    CacheStats stats() {
+        return new CacheStats(l1Hits.sum(), l2Hits.sum(), misses.sum(), evictions.sum(), l2.size());
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Entry {
+        private final String word;
+        private final String result;
+        private final long version;
+        // Approximate on purpose, lost updates under contention don't matter for eviction.
+        private int frequency;
+
+        private Entry(String word, String result, long version) {
+            this.word = word;
+            this.result = result;
+            this.version = version;
+        }
+
+        private void touch() {
+            if (frequency < MAX_FREQUENCY) {
+                frequency++;
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.encryptorcode.pluralize;
+
+import io.github.encryptorcode.pluralize.entities.RegexRule;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Rules read from a plain text file, validated and with their patterns compiled, ready to replace the rules of a
+ * {@link Pluralizer} with {@link Pluralizer#replaceRules(RuleFile)}.
+ * <p>
+ * Every line is a rule made of fields separated by whitespace. Empty lines and lines starting with {@code #} are
+ * ignored:
+ * <pre>
+ * # Start from the built-in rules, must come before any rule
+ * defaults
+ * # Regular expressions are case insensitive, a missing replacement is empty
+ * plural      (quiz)$       $1zes
+ * singular    (quiz)zes$    $1
+ * singular    ss$
+ * irregular   person        people
+ * uncountable sheep
+ * # Patterns of uncountable words are surrounded by slashes
+ * uncountable /pok[eé]mon$/
+ * </pre>
+ * Rules apply in the same order as if they were added one by one, so later plural and singular rules win over
+ * earlier ones. Files are read as UTF-8.
+ */
+public final class RuleFile {
+    private final boolean defaults;
+    private final List<Consumer<Pluralizer.Builder>> rules;
+
+    private RuleFile(boolean defaults, List<Consumer<Pluralizer.Builder>> rules) {
+        this.defaults = defaults;
+        this.rules = Collections.unmodifiableList(rules);
+    }
+
+    public static RuleFile read(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    /**
+     * Read and validate rules.
+     *
+     * @throws IllegalArgumentException When a line isn't a valid rule. The message starts with the line number.
+     */
+    public static RuleFile read(Reader reader) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        boolean defaults = false;
+        List<Consumer<Pluralizer.Builder>> rules = new ArrayList<>();
+        int number = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            number++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            try {
+                String[] fields = line.split("\\s+");
+                if (fields[0].equals("defaults")) {
+                    expectArguments(fields, 0, 0);
+                    if (!rules.isEmpty()) {
+                        throw new IllegalArgumentException("defaults must come before the rules");
+                    }
+                    defaults = true;
+                } else {
+                    rules.add(parse(fields));
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + number + ": " + e.getMessage(), e);
+            }
+        }
+        return new RuleFile(defaults, rules);
+    }
+
+    private static Consumer<Pluralizer.Builder> parse(String[] fields) {
+        switch (fields[0]) {
+            case "plural":
+            case "singular": {
+                expectArguments(fields, 1, 2);
+                Pattern pattern = Pluralizer.pattern(fields[1]);
+                String replacement = fields.length == 3 ? fields[2] : "";
+                // Fails on references to missing groups.
+                new RegexRule(pattern, replacement);
+                if (fields[0].equals("plural")) {
+                    return builder -> builder.addPluralRule(pattern, replacement);
+                }
+                return builder -> builder.addSingularRule(pattern, replacement);
+            }
+            case "irregular": {
+                expectArguments(fields, 2, 2);
+                String single = fields[1];
+                String plural = fields[2];
+                return builder -> builder.addIrregularRule(single, plural);
+            }
+            case "uncountable": {
+                expectArguments(fields, 1, 1);
+                String word = fields[1];
+                if (word.length() > 2 && word.startsWith("/") && word.endsWith("/")) {
+                    Pattern pattern = Pluralizer.pattern(word.substring(1, word.length() - 1));
+                    return builder -> builder.addUncountableRule(pattern);
+                }
+                return builder -> builder.addUncountableRule(word);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown rule type: " + fields[0]);
+        }
+    }
+
+    private static void expectArguments(String[] fields, int min, int max) {
+        int arguments = fields.length - 1;
+        if (arguments < min || arguments > max) {
+            String expected = min == max ? Integer.toString(min) : min + " to " + max;
+            throw new IllegalArgumentException(fields[0] + " takes " + expected + " arguments but has " + arguments);
+        }
+    }
+
+    /**
+     * Whether the rules start from the built-in rules.
+     */
+    public boolean hasDefaults() {
+        return defaults;
+    }
+
+    /**
+     * Number of rules, not counting the built-in rules.
+     */
+    public int size() {
+        return rules.size();
+    }
+
+    /**
+     * Add the rules to a builder, after the built-in rules when the file asks for them.
+     */
+    public void applyTo(Pluralizer.Builder builder) {
+        if (defaults) {
+            builder.withDefaultRules();
+        }
+        for (Consumer<Pluralizer.Builder> rule : rules) {
+            rule.accept(builder);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package io.github.encryptorcode.pluralize;
+
+import io.github.encryptorcode.pluralize.entities.RegexRule;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable and fully compiled snapshot of the rules used by a {@link Pluralizer}.
+ * <p>
+ * Snapshots are never modified after they are created. Adding a rule to a {@link Pluralizer} publishes a new
+ * snapshot, so a call which started on a snapshot always finishes on it.
+ */
+public final class RuleSet {
+    private static final AtomicLong VERSIONS = new AtomicLong();
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    final long version;
+    final CompiledRules pluralRules;
+    final CompiledRules singularRules;
+    final Set<String> uncountables;
+    final Map<String, String> irregularPlurals;
+    final Map<String, String> irregularSingles;
+    // The same words, for lookups by any character sequence.
+    final WordTable uncountableWords;
+    final WordTable plurals;
+    final WordTable singles;
+    final Lexicon lexicon;
+    final long fingerprint;
+    // The table given to the builder, and the same table when it was generated from these rules.
+    final InflectionTable table;
+    final InflectionTable matchingTable;
+    final SpecializedRules specializedRules;
+    // Null unless metrics are enabled.
+    final Metrics metrics;
+
+    RuleSet(List<RegexRule> pluralRules, List<RegexRule> singularRules, Set<String> uncountables,
+            Map<String, String> irregularPlurals, Map<String, String> irregularSingles, Lexicon lexicon, InflectionTable table,
+            SpecializedRules specializedRules, Metrics metrics) {
+        this.version = VERSIONS.incrementAndGet();
+        this.metrics = metrics;
+        this.fingerprint = fingerprint(pluralRules, singularRules, uncountables, irregularPlurals, irregularSingles,
+                lexicon);
+        this.specializedRules = specializedRules;
+        // Metrics count the rules tried, which only the patterns can tell.
+        SpecializedRules matching = specializedRules != null && specializedRules.getFingerprint() == fingerprint &&
+                metrics == null ? specializedRules : null;
+        this.pluralRules = new CompiledRules(pluralRules, metrics == null ? null : metrics.plural, matching, true);
+        this.singularRules = new CompiledRules(singularRules, metrics == null ? null : metrics.singular, matching,
+                false);
+        this.uncountables = Collections.unmodifiableSet(new HashSet<>(uncountables));
+        this.irregularPlurals = Collections.unmodifiableMap(new HashMap<>(irregularPlurals));
+        this.irregularSingles = Collections.unmodifiableMap(new HashMap<>(irregularSingles));
+        Map<String, String> uncountableWords = new HashMap<>();
+        for (String word : uncountables) {
+            uncountableWords.put(word, word);
+        }
+        this.uncountableWords = new WordTable(uncountableWords);
+        this.lexicon = lexicon;
+        this.plurals = new WordTable(irregularPlurals, lexicon == null ? null : lexicon.sections, WordSections.SECOND);
+        this.singles = new WordTable(irregularSingles, lexicon == null ? null : lexicon.sections, WordSections.FIRST);
+        this.table = table;
+        this.matchingTable = table != null && table.getFingerprint() == fingerprint ? table : null;
+    }
+
+    /**
+     * FNV-1a hash of everything which affects a result.
+     */
+    private static long fingerprint(List<RegexRule> pluralRules, List<RegexRule> singularRules,
+                                    Set<String> uncountables, Map<String, String> irregularPlurals,
+                                    Map<String, String> irregularSingles, Lexicon lexicon) {
+        long hash = FNV_OFFSET;
+        for (List<RegexRule> rules : Arrays.asList(pluralRules, singularRules)) {
+            for (RegexRule rule : rules) {
+                hash = hash(hash, rule.getRegex());
+                hash = hash(hash, Integer.toString(rule.getFlags()));
+                hash = hash(hash, rule.getReplacement());
+            }
+            hash = hash(hash, "");
+        }
+        // Unordered collections are hashed without sorting them, so adding a word to a large snapshot stays linear.
+        long words = 0;
+        for (String word : uncountables) {
+            words += mix(hash(FNV_OFFSET, word));
+        }
+        hash = hash(hash, words);
+        for (Map<String, String> irregulars : Arrays.asList(irregularPlurals, irregularSingles)) {
+            long entries = 0;
+            for (Map.Entry<String, String> entry : irregulars.entrySet()) {
+                entries += mix(hash(hash(FNV_OFFSET, entry.getKey()), entry.getValue()));
+            }
+            hash = hash(hash, entries);
+        }
+        if (lexicon != null) {
+            hash = hash(hash, Long.toHexString(lexicon.getChecksum()));
+        }
+        return hash;
+    }
+
+    static long hash(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        // Separator, so adjacent values can't run into each other.
+        return (hash ^ 0xffff) * 0x100000001b3L;
+    }
+
+    private static long hash(long hash, long value) {
+        for (int i = 0; i < 64; i += 8) {
+            hash = (hash ^ ((value >>> i) & 0xff)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Finalizer of MurmurHash3, so the sum of the hashes of unordered values doesn't cancel out.
+     */
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * Increasing number identifying this snapshot. Every new snapshot gets a higher version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Fingerprint of the rules, equal for snapshots with the same rules even across runs.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Pluralization rules, in the order they were added.
+     */
+    public List<RegexRule> getPluralRules() {
+        return pluralRules.rules;
+    }
+
+    /**
+     * Singularization rules, in the order they were added.
+     */
+    public List<RegexRule> getSingularRules() {
+        return singularRules.rules;
+    }
+
+    /**
+     * Lower cased uncountable words.
+     */
+    public Set<String> getUncountables() {
+        return uncountables;
+    }
+
+    /**
+     * Lower cased irregular plurals mapped to their singulars.
+     */
+    public Map<String, String> getIrregularPlurals() {
+        return irregularPlurals;
+    }
+
+    /**
+     * Lower cased irregular singulars mapped to their plurals.
+     */
+    public Map<String, String> getIrregularSingles() {
+        return irregularSingles;
+    }
+
+    /**
+     * Lexicon of more irregular words, or null.
+     */
+    public Lexicon getLexicon() {
+        return lexicon;
+    }
+}
@@ -0,0 +1,319 @@
+package io.github.encryptorcode.pluralize;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of inflected words in a memory mapped file, shared by all the processes on a host which open the same file.
+ * <p>
+ * The file is an open addressing table of fixed size slots. Reads take no locks: every slot has a sequence number
+ * which is odd while the slot is written, and a checksum of its contents, so a read which overlaps a write is
+ * detected and counts as a miss. The memory model doesn't order plain accesses to a mapped buffer, and other
+ * processes aren't bound by it anyway, so the sequence is only a fast path. Volatile accesses fence it from the
+ * contents, which keeps the accesses in order on HotSpot, but the checksum is what guarantees that a torn entry is
+ * never returned.
+ * <p>
+ * Writes only happen on misses. A thread first claims one of a few stripes of slots within the process, then locks
+ * its slot with a file lock, which costs a system call, and skips the write when another thread or process holds
+ * either. When all the slots a word may use are taken, the first one is overwritten.
+ * <p>
+ * Every entry is stamped with the {@linkplain RuleSet#getFingerprint() fingerprint} of the rules which produced
+ * it, so processes with different rules can share a file without reading each other's results. Words whose word
+ * and result together are longer than {@value #MAX_CHARS} characters are not cached.
+ */
+public final class SharedCache implements Closeable {
+    private static final int MAGIC = 0x504c5a43;
+    private static final int FORMAT = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 128;
+    private static final int PROBES = 4;
+    private static final int STRIPES = 64;
+    // The whole file must fit in one mapping.
+    private static final int MAX_SLOTS = 1 << 23;
+
+    // Slot layout.
+    private static final int SEQUENCE = 0;
+    private static final int CHECKSUM = 4;
+    private static final int STAMP = 8;
+    private static final int WORD_LENGTH = 16;
+    private static final int RESULT_LENGTH = 18;
+    private static final int CHARS = 20;
+    static final int MAX_CHARS = (SLOT_SIZE - CHARS) / 2;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int mask;
+
+    // Claimed by a writer of this process before locking a slot of the stripe, so threads never ask for
+    // overlapping file locks.
+    private final AtomicIntegerArray writing = new AtomicIntegerArray(STRIPES);
+    // Only accessed as a fence between the sequence and the contents of a slot.
+    private volatile int fence;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder skippedWrites = new LongAdder();
+
+    private SharedCache(FileChannel channel, ByteBuffer buffer, int slots) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.mask = slots - 1;
+    }
+
+    /**
+     * Open the cache in the file, creating it when it doesn't exist or is empty. The capacity only applies when
+     * the file is created, otherwise the capacity it was created with is used.
+     *
+     * @param slots Most entries, rounded up to a power of two. Each one takes {@value #SLOT_SIZE} bytes.
+     */
+    public static SharedCache open(Path path, int slots) throws IOException {
+        if (slots <= 0 || slots > MAX_SLOTS) {
+            throw new IllegalArgumentException("Slots must be between 1 and " + MAX_SLOTS + ": " + slots);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            int capacity;
+            // Processes starting together agree on the size under the lock of the header.
+            FileLock header = channel.lock(0, HEADER_SIZE, false);
+            try {
+                capacity = channel.size() == 0 ? create(channel, slots) : readHeader(channel, path);
+            } finally {
+                header.release();
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_SIZE + (long) capacity * SLOT_SIZE);
+            return new SharedCache(channel, buffer, capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static int create(FileChannel channel, int slots) throws IOException {
+        int capacity = slots == 1 ? 1 : Integer.highestOneBit(slots - 1) << 1;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(FORMAT).putInt(capacity).putInt(SLOT_SIZE);
+        header.clear();
+        // Slots are zero, which means empty, once the file is extended.
+        channel.write(ByteBuffer.allocate(1), HEADER_SIZE + (long) capacity * SLOT_SIZE - 1);
+        channel.write(header, 0);
+        return capacity;
+    }
+
+    private static int readHeader(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // Read until the header is complete or the file ends.
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+            throw new IOException("Not a shared cache: " + path);
+        }
+        if (header.getInt(4) != FORMAT || header.getInt(12) != SLOT_SIZE) {
+            throw new IOException("Unsupported shared cache format " + header.getInt(4) + ": " + path);
+        }
+        int capacity = header.getInt(8);
+        if (Integer.bitCount(capacity) != 1 || channel.size() < HEADER_SIZE + (long) capacity * SLOT_SIZE) {
+            throw new IOException("Shared cache is truncated: " + path);
+        }
+        return capacity;
+    }
+
+    /**
+     * Cached result for the word, or null when there isn't one with this stamp.
+     */
+    String get(long stamp, String word) {
+        int length = word.length();
+        if (length > MAX_CHARS) {
+            return null;
+        }
+        int home = index(stamp, word);
+        for (int probe = 0; probe < PROBES; probe++) {
+            int slot = slot(home + probe);
+            int sequence = buffer.getInt(slot + SEQUENCE);
+            loadFence();
+            if (sequence == 0) {
+                // Slots are never emptied, so the word can't be further along.
+                break;
+            }
+            if ((sequence & 1) != 0 || buffer.getLong(slot + STAMP) != stamp
+                    || buffer.getShort(slot + WORD_LENGTH) != length || !sameWord(slot, word)) {
+                continue;
+            }
+
+            int resultLength = buffer.getShort(slot + RESULT_LENGTH);
+            if (resultLength < 0 || length + resultLength > MAX_CHARS) {
+                break;
+            }
+            char[] result = new char[resultLength];
+            int chars = slot + CHARS + length * 2;
+            for (int i = 0; i < resultLength; i++) {
+                result[i] = buffer.getChar(chars + i * 2);
+            }
+            int checksum = buffer.getInt(slot + CHECKSUM);
+            loadFence();
+            if (checksum != checksum(stamp, word, result) || buffer.getInt(slot + SEQUENCE) != sequence) {
+                // Written meanwhile.
+                break;
+            }
+            hits.increment();
+            return new String(result);
+        }
+        misses.increment();
+        return null;
+    }
+
+    private boolean sameWord(int slot, String word) {
+        int chars = slot + CHARS;
+        for (int i = 0; i < word.length(); i++) {
+            if (buffer.getChar(chars + i * 2) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Store a result, unless it's too long or its slot is being written.
+     */
+    void put(long stamp, String word, String result) {
+        int length = word.length();
+        if (length + result.length() > MAX_CHARS) {
+            return;
+        }
+        int home = index(stamp, word);
+        int slot = slot(home);
+        for (int probe = 0; probe < PROBES; probe++) {
+            int candidate = slot(home + probe);
+            int sequence = buffer.getInt(candidate + SEQUENCE);
+            if (sequence == 0 || buffer.getLong(candidate + STAMP) == stamp
+                    && buffer.getShort(candidate + WORD_LENGTH) == length && sameWord(candidate, word)) {
+                slot = candidate;
+                break;
+            }
+        }
+
+        int stripe = (slot / SLOT_SIZE) & (STRIPES - 1);
+        if (!writing.compareAndSet(stripe, 0, 1)) {
+            skippedWrites.increment();
+            return;
+        }
+        try (FileLock lock = channel.tryLock(slot, SLOT_SIZE, false)) {
+            if (lock == null) {
+                skippedWrites.increment();
+                return;
+            }
+            write(slot, stamp, word, result);
+        } catch (OverlappingFileLockException | IOException e) {
+            // The cache is closed, so the result isn't needed.
+            skippedWrites.increment();
+        } finally {
+            writing.set(stripe, 0);
+        }
+    }
+
+    private void write(int slot, long stamp, String word, String result) {
+        // Odd even if a process died while writing the slot, which left it odd.
+        int odd = buffer.getInt(slot + SEQUENCE) | 1;
+        buffer.putInt(slot + SEQUENCE, odd);
+        storeFence();
+
+        buffer.putLong(slot + STAMP, stamp);
+        buffer.putShort(slot + WORD_LENGTH, (short) word.length());
+        buffer.putShort(slot + RESULT_LENGTH, (short) result.length());
+        int chars = slot + CHARS;
+        for (int i = 0; i < word.length(); i++, chars += 2) {
+            buffer.putChar(chars, word.charAt(i));
+        }
+        char[] resultChars = result.toCharArray();
+        for (char c : resultChars) {
+            buffer.putChar(chars, c);
+            chars += 2;
+        }
+        buffer.putInt(slot + CHECKSUM, checksum(stamp, word, resultChars));
+        storeFence();
+
+        // 0 means empty, so skip it when the sequence wraps around.
+        buffer.putInt(slot + SEQUENCE, odd + 1 == 0 ? 2 : odd + 1);
+    }
+
+    private void loadFence() {
+        int ignored = fence;
+    }
+
+    private void storeFence() {
+        fence = 0;
+    }
+
+    private int index(long stamp, String word) {
+        long hash = (stamp ^ word.hashCode()) * 0x9e3779b97f4a7c15L;
+        return (int) (hash >>> 32);
+    }
+
+    private int slot(int index) {
+        return HEADER_SIZE + (index & mask) * SLOT_SIZE;
+    }
+
+    /**
+     * FNV-1a hash of an entry.
+     */
+    private static int checksum(long stamp, String word, char[] result) {
+        int hash = 0x811c9dc5;
+        hash = (hash ^ (int) stamp) * 0x01000193;
+        hash = (hash ^ (int) (stamp >>> 32)) * 0x01000193;
+        hash = (hash ^ word.length()) * 0x01000193;
+        for (int i = 0; i < word.length(); i++) {
+            hash = (hash ^ word.charAt(i)) * 0x01000193;
+        }
+        hash = (hash ^ result.length) * 0x01000193;
+        for (char c : result) {
+            hash = (hash ^ c) * 0x01000193;
+        }
+        return hash;
+    }
+
+    /**
+     * Most entries of the cache.
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Lookups of this process answered by the cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Lookups of this process which found nothing, including reads which overlapped a write.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Results of this process which weren't stored, because their slot was being written.
+     */
+    public long getSkippedWrites() {
+        return skippedWrites.sum();
+    }
+
+    /**
+     * Close the file. Later results are no longer stored, but lookups keep working until the mapping is
+     * garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.encryptorcode.pluralize;
+
+import io.github.encryptorcode.pluralize.entities.RegexRule;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Base of the classes written by {@link SpecializedRulesGenerator}, which apply the sanitization rules of one rule
+ * set with plain suffix checks instead of regular expressions.
+ * <p>
+ * Like an {@link InflectionTable}, a class is only used by a {@link Pluralizer} whose rules have the fingerprint it
+ * was generated with. Words with surrogates or ending with a line terminator, and calls with metrics enabled, still
+ * go through the patterns.
+ */
+public abstract class SpecializedRules {
+    private static final Pattern BOUNDARY = Pattern.compile("\\b");
+
+    private final long fingerprint;
+
+    protected SpecializedRules(long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Fingerprint of the rules the class was generated with.
+     *
+     * @see RuleSet#getFingerprint()
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Append the word with the last pluralization rule which matches it applied, or nothing when none matches.
+     *
+     * @param word A word which isn't empty
+     * @return Whether a rule matched
+     */
+    protected abstract boolean plural(CharSequence word, StringBuilder out);
+
+    /**
+     * Append the word with the last singularization rule which matches it applied, or nothing when none matches.
+     *
+     * @param word A word which isn't empty
+     * @return Whether a rule matched
+     */
+    protected abstract boolean singular(CharSequence word, StringBuilder out);
+
+    /**
+     * Whether the generated code behaves like the patterns for the word. Patterns match surrogate pairs as one
+     * character, and {@code $} also matches before a trailing line terminator.
+     */
+    static boolean accepts(CharSequence word) {
+        int length = word.length();
+        char last = word.charAt(length - 1);
+        if (last == '\n' || last == '\r' || last == '\u0085' || last == '\u2028' || last == '\u2029') {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (Character.isSurrogate(word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Give {@code out[from, out.length())} the case of {@code word[start, end)}, like the replacement of a pattern.
+     */
+    protected static void restoreCase(CharSequence word, int start, int end, StringBuilder out, int from) {
+        Pluralizer.restoreCase(word, start, end, out, from);
+    }
+
+    /**
+     * Whether {@code \b} matches before {@code word.charAt(index)}.
+     */
+    protected static boolean isBoundary(CharSequence word, int index) {
+        char before = index > 0 ? word.charAt(index - 1) : ' ';
+        char after = index < word.length() ? word.charAt(index) : ' ';
+        if (before < 0x80 && after < 0x80) {
+            return isWordChar(before) != isWordChar(after);
+        }
+        // What else counts as a word character depends on the JDK.
+        Matcher matcher = BOUNDARY.matcher(word);
+        matcher.useTransparentBounds(true);
+        matcher.useAnchoringBounds(false);
+        matcher.region(index, word.length());
+        return matcher.lookingAt();
+    }
+
+    private static boolean isWordChar(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_';
+    }
+
+    /**
+     * Apply a rule the generator couldn't translate with its pattern.
+     */
+    protected static boolean apply(RegexRule rule, CharSequence word, StringBuilder out) {
+        Matcher matcher = rule.matcher(word);
+        if (!matcher.find()) {
+            return false;
+        }
+        Pluralizer.replace(word, matcher, rule, out);
+        return true;
+    }
+}
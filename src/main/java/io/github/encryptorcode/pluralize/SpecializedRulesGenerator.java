@@ -0,0 +1,880 @@
+package io.github.encryptorcode.pluralize;
+
+import io.github.encryptorcode.pluralize.entities.RegexRule;
+import io.github.encryptorcode.pluralize.entities.ReplacementTemplate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Build step writing the source of a {@link SpecializedRules} class for the rules, e.g. from the exec-maven-plugin
+ * in the generate-sources phase:
+ * <pre>
+ * java io.github.encryptorcode.pluralize.SpecializedRulesGenerator &lt;source directory&gt; &lt;class name&gt; [customizer class]
+ * </pre>
+ * The customizer is the same as for the {@link InflectionTableGenerator}.
+ * <p>
+ * Patterns anchored with {@code $} are expanded into every sequence of characters they can match, in the order the
+ * pattern tries them, and each sequence becomes straight-line checks of the characters at the end of the word. The
+ * class switches on the last character to call the rules which can end with it, last rule first, and appends the
+ * literals of the replacements directly. Rules outside of that subset, e.g. with {@code *}, {@code +}, lookarounds
+ * or back references, keep their pattern, which is applied in their place.
+ */
+public class SpecializedRulesGenerator {
+    // Above this many sequences a rule keeps its pattern.
+    private static final int MAX_PATHS = 256;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: SpecializedRulesGenerator <source directory> <class name> [customizer class]");
+            System.exit(2);
+        }
+
+        Pluralizer.Builder builder = Pluralizer.builder().withDefaultRules();
+        if (args.length == 3) {
+            InflectionTableGenerator.customizer(args[2]).accept(builder);
+        }
+        RuleSet rules = builder.build().getRules();
+
+        Path output = Paths.get(args[0], args[1].replace('.', '/') + ".java");
+        Files.createDirectories(output.getParent());
+        try (Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            write(rules, args[1], out);
+        }
+        System.out.println("Wrote " + args[1] + " to " + output);
+    }
+
+    /**
+     * Write the source of a class applying the rules. The class has a public no argument constructor.
+     *
+     * @param className Fully qualified name of the class
+     */
+    public static void write(RuleSet rules, String className, Appendable out) throws IOException {
+        new SourceWriter(className, out).write(rules);
+    }
+
+    /**
+     * Generates the source of one class.
+     */
+    private static class SourceWriter {
+        private final String packageName;
+        private final String simpleName;
+        private final Appendable out;
+        // Bodies of the methods, to reuse a method instead of writing the same one again.
+        private final Map<String, String> methods = new LinkedHashMap<>();
+        private final Map<BitSet, String> classes = new LinkedHashMap<>();
+        private final Map<String, RegexRule> fallbacks = new LinkedHashMap<>();
+        private final StringBuilder members = new StringBuilder();
+
+        private SourceWriter(String className, Appendable out) {
+            int dot = className.lastIndexOf('.');
+            this.packageName = dot < 0 ? null : className.substring(0, dot);
+            this.simpleName = className.substring(dot + 1);
+            this.out = out;
+        }
+
+        private void write(RuleSet rules) throws IOException {
+            String plural = direction("plural", rules.getPluralRules());
+            String singular = direction("singular", rules.getSingularRules());
+
+            out.append("// Generated by SpecializedRulesGenerator, do not edit.\n");
+            if (packageName != null) {
+                out.append("package ").append(packageName).append(";\n\n");
+            }
+            out.append("import io.github.encryptorcode.pluralize.SpecializedRules;\n");
+            if (!fallbacks.isEmpty()) {
+                out.append("import io.github.encryptorcode.pluralize.entities.RegexRule;\n");
+            }
+            out.append("\npublic final class ").append(simpleName).append(" extends SpecializedRules {\n");
+            for (Map.Entry<String, RegexRule> fallback : fallbacks.entrySet()) {
+                RegexRule rule = fallback.getValue();
+                out.append("    private static final RegexRule ").append(fallback.getKey()).append(" = new RegexRule(")
+                        .append(literal(rule.getRegex())).append(", ").append(Integer.toString(rule.getFlags()))
+                        .append(", ").append(literal(rule.getReplacement())).append(");\n");
+            }
+            if (!fallbacks.isEmpty()) {
+                out.append('\n');
+            }
+            out.append("    public ").append(simpleName).append("() {\n");
+            out.append("        super(0x").append(Long.toHexString(rules.getFingerprint())).append("L);\n");
+            out.append("    }\n");
+            out.append(plural).append(singular).append(members);
+            for (Map.Entry<BitSet, String> entry : classes.entrySet()) {
+                writeClass(entry.getValue(), entry.getKey());
+            }
+            out.append("}\n");
+        }
+
+        /**
+         * Method applying the rules of a direction, switching on the last character.
+         */
+        private String direction(String name, List<RegexRule> rules) {
+            List<List<PathInfo>> paths = new ArrayList<>();
+            // Lower case first, to name the methods of a case after it.
+            TreeSet<Character> lastChars = new TreeSet<>(Comparator
+                    .comparing((Character c) -> Character.toLowerCase(c)).thenComparing(Comparator.reverseOrder()));
+            for (int i = 0; i < rules.size(); i++) {
+                List<PathInfo> rulePaths = paths(rules.get(i));
+                paths.add(rulePaths);
+                if (rulePaths == null) {
+                    fallbacks.put(name.toUpperCase() + "_" + i, rules.get(i));
+                    continue;
+                }
+                for (PathInfo path : rulePaths) {
+                    BitSet last = path.lastChar();
+                    if (last != null && last.cardinality() <= 2) {
+                        for (int c = last.nextSetBit(0); c >= 0; c = last.nextSetBit(c + 1)) {
+                            lastChars.add((char) c);
+                        }
+                    }
+                }
+            }
+
+            // Characters whose rules are the same share a case.
+            Map<String, List<Character>> cases = new LinkedHashMap<>();
+            for (char c : lastChars) {
+                cases.computeIfAbsent(chain(name, rules, paths, c), key -> new ArrayList<>()).add(c);
+            }
+            String fallbackChain = chain(name, rules, paths, null);
+
+            StringBuilder method = new StringBuilder();
+            method.append("\n    @Override\n");
+            method.append("    protected boolean ").append(name).append("(CharSequence word, StringBuilder out) {\n");
+            method.append("        int n = word.length();\n");
+            if (cases.isEmpty()) {
+                method.append("        return ").append(fallbackChain).append(";\n");
+            } else {
+                method.append("        switch (word.charAt(n - 1)) {\n");
+                for (Map.Entry<String, List<Character>> entry : cases.entrySet()) {
+                    for (char c : entry.getValue()) {
+                        method.append("            case ").append(charLiteral(c)).append(":\n");
+                    }
+                    method.append("                return ").append(entry.getKey().replace("\n", "\n        "))
+                            .append(";\n");
+                }
+                method.append("            default:\n");
+                method.append("                return ").append(fallbackChain.replace("\n", "\n        "))
+                        .append(";\n");
+                method.append("        }\n");
+            }
+            method.append("    }\n");
+            return method.toString();
+        }
+
+        /**
+         * Calls applying the rules in order, for words ending with the character, or with any other character when
+         * it is null.
+         */
+        private String chain(String name, List<RegexRule> rules, List<List<PathInfo>> paths, Character last) {
+            List<String> calls = new ArrayList<>();
+            for (int i = rules.size() - 1; i >= 0; i--) {
+                if (paths.get(i) == null) {
+                    calls.add("apply(" + name.toUpperCase() + "_" + i + ", word, out)");
+                    continue;
+                }
+                List<PathInfo> selected = new ArrayList<>();
+                for (PathInfo path : paths.get(i)) {
+                    BitSet lastChar = path.lastChar();
+                    if (lastChar == null || (last == null ? lastChar.cardinality() > 2 : lastChar.get(last))) {
+                        selected.add(path);
+                    }
+                }
+                if (selected.isEmpty()) {
+                    continue;
+                }
+                String suffix = last == null ? "" : "_" + label(last);
+                Method method = method(name, name + i + suffix, rules.get(i), selected, last != null);
+                calls.add(method.name + "(word, n, out)");
+                if (method.always) {
+                    break;
+                }
+            }
+            if (calls.isEmpty()) {
+                return "false";
+            }
+            StringBuilder chain = new StringBuilder(calls.get(0));
+            for (int i = 1; i < calls.size(); i++) {
+                chain.append("\n                || ").append(calls.get(i));
+            }
+            return chain.toString();
+        }
+
+        /**
+         * Method trying the paths of a rule in order, or an existing method with the same body.
+         *
+         * @param lastKnown Whether the last character is known to match
+         */
+        private Method method(String direction, String name, RegexRule rule, List<PathInfo> paths,
+                              boolean lastKnown) {
+            StringBuilder body = new StringBuilder();
+            body.append("        // ").append(literal(rule.getRegex())).append(" -> ")
+                    .append(literal(rule.getReplacement())).append('\n');
+            boolean always = false;
+            for (PathInfo path : paths) {
+                List<String> conditions = path.conditions(this, lastKnown);
+                String indent = "        ";
+                if (conditions.isEmpty()) {
+                    always = true;
+                } else {
+                    body.append("        if (").append(join(conditions)).append(") {\n");
+                    indent = "            ";
+                }
+                path.replace(rule.getTemplate(), indent, body);
+                if (always) {
+                    break;
+                }
+                body.append("        }\n");
+            }
+            if (!always) {
+                body.append("        return false;\n");
+            }
+
+            // Only within a direction, so the names stay meaningful.
+            String key = direction + "\n" + body;
+            String existing = methods.get(key);
+            if (existing == null) {
+                methods.put(key, name);
+                members.append("\n    private static boolean ").append(name)
+                        .append("(CharSequence word, int n, StringBuilder out) {\n").append(body).append("    }\n");
+                existing = name;
+            }
+            return new Method(existing, always);
+        }
+
+        private static String join(List<String> conditions) {
+            String line = String.join(" && ", conditions);
+            if (line.length() <= 100) {
+                return line;
+            }
+            return String.join("\n                && ", conditions);
+        }
+
+        /**
+         * Condition for a character, e.g. a comparison ignoring the case of ASCII letters.
+         */
+        private String test(BitSet chars, String c) {
+            if (chars.cardinality() == 1) {
+                return c + " == " + charLiteral((char) chars.nextSetBit(0));
+            }
+            int lower = chars.nextSetBit('a');
+            if (chars.cardinality() == 2 && lower >= 'a' && lower <= 'z' && chars.get(lower - 0x20)) {
+                return "(" + c + " | 0x20) == " + charLiteral((char) lower);
+            }
+            String name = classes.get(chars);
+            if (name == null) {
+                name = "isClass" + classes.size();
+                classes.put(chars, name);
+            }
+            return name + "(" + c + ")";
+        }
+
+        /**
+         * Character class as a bit mask for ASCII and ranges for the rest.
+         */
+        private void writeClass(String name, BitSet chars) throws IOException {
+            long low = 0;
+            long high = 0;
+            for (int c = chars.nextSetBit(0); c >= 0 && c < 0x80; c = chars.nextSetBit(c + 1)) {
+                if (c < 64) {
+                    low |= 1L << c;
+                } else {
+                    high |= 1L << c;
+                }
+            }
+            List<String> ranges = new ArrayList<>();
+            for (int start = chars.nextSetBit(0x80); start >= 0; start = chars.nextSetBit(start)) {
+                int end = chars.nextClearBit(start) - 1;
+                if (start == 0x80 && end == 0xffff) {
+                    ranges.add("true");
+                } else if (start == end) {
+                    ranges.add("c == 0x" + Integer.toHexString(start));
+                } else {
+                    ranges.add("c >= 0x" + Integer.toHexString(start) + " && c <= 0x" + Integer.toHexString(end));
+                }
+                start = end + 1;
+            }
+            String others = ranges.isEmpty() ? "false" : String.join(" || ", ranges);
+
+            out.append("\n    private static boolean ").append(name).append("(char c) {\n");
+            out.append("        return c < 64 ? (0x").append(Long.toHexString(low)).append("L >>> c & 1) != 0\n");
+            out.append("                : c < 128 ? (0x").append(Long.toHexString(high)).append("L >>> c & 1) != 0\n");
+            out.append("                : ").append(others).append(";\n");
+            out.append("    }\n");
+        }
+    }
+
+    private static class Method {
+        private final String name;
+        private final boolean always;
+
+        private Method(String name, boolean always) {
+            this.name = name;
+            this.always = always;
+        }
+    }
+
+    /**
+     * Paths of the rule, longest first, so in the order the pattern finds them, or null when the rule has to keep its
+     * pattern.
+     */
+    private static List<PathInfo> paths(RegexRule rule) {
+        String source = rule.getRegex();
+        if ((rule.getFlags() & ~Pattern.CASE_INSENSITIVE) != 0 || !source.endsWith("$") || source.endsWith("\\$")) {
+            return null;
+        }
+        for (int i = 0; i < source.length(); i++) {
+            if (Character.isSurrogate(source.charAt(i))) {
+                return null;
+            }
+        }
+        try {
+            Parser parser = new Parser(source.substring(0, source.length() - 1),
+                    (rule.getFlags() & Pattern.CASE_INSENSITIVE) != 0);
+            List<List<Element>> sequences = parser.sequence();
+            if (parser.position != parser.source.length()
+                    || rule.getTemplate().getMaxGroup() > parser.groups) {
+                return null;
+            }
+            List<PathInfo> paths = new ArrayList<>();
+            for (List<Element> sequence : sequences) {
+                PathInfo path = PathInfo.of(sequence, parser.groups);
+                if (path != null) {
+                    paths.add(path);
+                }
+            }
+            // Stable, so paths of the same length stay in the order the pattern tries them.
+            paths.sort(Comparator.comparingInt((PathInfo path) -> path.length).reversed());
+            return paths;
+        } catch (UnsupportedOperationException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Part of a sequence matched by a pattern.
+     */
+    private static class Element {
+        private static final int CHAR = 0;
+        private static final int BEGIN = 1;
+        private static final int BOUNDARY = 2;
+        private static final int OPEN = 3;
+        private static final int CLOSE = 4;
+
+        private final int kind;
+        private final BitSet chars;
+        private final int group;
+
+        private Element(int kind, BitSet chars, int group) {
+            this.kind = kind;
+            this.chars = chars;
+            this.group = group;
+        }
+    }
+
+    /**
+     * One way a pattern can match: the characters at the end of the word, the assertions and the groups.
+     */
+    private static class PathInfo {
+        private final int length;
+        private final BitSet[] chars;
+        private final boolean begin;
+        private final List<Integer> boundaries;
+        // Offsets of each group, -1 when it doesn't take part.
+        private final int[] starts;
+        private final int[] ends;
+
+        private PathInfo(int length, BitSet[] chars, boolean begin, List<Integer> boundaries, int[] starts,
+                         int[] ends) {
+            this.length = length;
+            this.chars = chars;
+            this.begin = begin;
+            this.boundaries = boundaries;
+            this.starts = starts;
+            this.ends = ends;
+        }
+
+        /**
+         * Path of the elements, or null when it can never match.
+         */
+        private static PathInfo of(List<Element> elements, int groups) {
+            List<BitSet> chars = new ArrayList<>();
+            boolean begin = false;
+            List<Integer> boundaries = new ArrayList<>();
+            int[] starts = new int[groups + 1];
+            int[] ends = new int[groups + 1];
+            Arrays.fill(starts, -1);
+            Arrays.fill(ends, -1);
+            for (Element element : elements) {
+                switch (element.kind) {
+                    case Element.CHAR:
+                        chars.add(element.chars);
+                        break;
+                    case Element.BEGIN:
+                        if (!chars.isEmpty()) {
+                            return null;
+                        }
+                        begin = true;
+                        break;
+                    case Element.BOUNDARY:
+                        boundaries.add(chars.size());
+                        break;
+                    case Element.OPEN:
+                        starts[element.group] = chars.size();
+                        break;
+                    default:
+                        ends[element.group] = chars.size();
+                        break;
+                }
+            }
+            int length = chars.size();
+            if (begin && length == 0) {
+                // Words are never empty.
+                return null;
+            }
+            starts[0] = 0;
+            ends[0] = length;
+            return new PathInfo(length, chars.toArray(new BitSet[0]), begin, boundaries, starts, ends);
+        }
+
+        private BitSet lastChar() {
+            return length == 0 ? null : chars[length - 1];
+        }
+
+        /**
+         * Index of the offset into the path.
+         */
+        private String position(int offset) {
+            return offset == length ? "n" : "n - " + (length - offset);
+        }
+
+        private List<String> conditions(SourceWriter writer, boolean lastKnown) {
+            List<String> conditions = new ArrayList<>();
+            if (begin) {
+                conditions.add("n == " + length);
+            } else if (length > 1) {
+                // Words are never empty, so the last character is always there.
+                conditions.add("n >= " + length);
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                if (i == length - 1 && lastKnown) {
+                    continue;
+                }
+                conditions.add(writer.test(chars[i], "word.charAt(" + position(i) + ")"));
+            }
+            for (int boundary : boundaries) {
+                conditions.add("isBoundary(word, " + position(boundary) + ")");
+            }
+            return conditions;
+        }
+
+        /**
+         * Statements appending the word with the match replaced.
+         */
+        private void replace(ReplacementTemplate template, String indent, StringBuilder body) {
+            if (length == 0) {
+                body.append(indent).append("out.append(word);\n");
+            } else {
+                body.append(indent).append("out.append(word, 0, ").append(position(0)).append(");\n");
+            }
+            body.append(indent).append("int from = out.length();\n");
+
+            List<String> appends = new ArrayList<>();
+            for (int i = 0; i <= template.getReferenceCount(); i++) {
+                if (!template.getLiteral(i).isEmpty()) {
+                    appends.add(literal(template.getLiteral(i)));
+                }
+                if (i == template.getReferenceCount()) {
+                    break;
+                }
+                int group = template.getGroup(i);
+                if (starts[group] >= 0 && ends[group] > starts[group]) {
+                    appends.add("word, " + position(starts[group]) + ", " + position(ends[group]));
+                }
+            }
+            if (!appends.isEmpty()) {
+                body.append(indent).append("out");
+                for (String append : appends) {
+                    body.append(".append(").append(append).append(')');
+                }
+                body.append(";\n");
+            }
+
+            // Like Pluralizer.replace, an empty match gets the case of the last character.
+            String start = length == 0 ? "n - 1" : position(0);
+            body.append(indent).append("restoreCase(word, ").append(start).append(", n, out, from);\n");
+            body.append(indent).append("return true;\n");
+        }
+    }
+
+    /**
+     * Recursive descent parser expanding the subset of regular expressions without repetition into all the sequences
+     * they match, in the order they are tried. Anything outside of that subset throws
+     * {@link UnsupportedOperationException}.
+     */
+    private static class Parser {
+        private static final BitSet WORD = new BitSet();
+        private static final BitSet DIGIT = new BitSet();
+        private static final BitSet SPACE = new BitSet();
+        private static final BitSet DOT = new BitSet();
+
+        static {
+            WORD.set('a', 'z' + 1);
+            WORD.set('A', 'Z' + 1);
+            WORD.set('0', '9' + 1);
+            WORD.set('_');
+            DIGIT.set('0', '9' + 1);
+            for (char c : " \t\n\u000B\f\r".toCharArray()) {
+                SPACE.set(c);
+            }
+            DOT.set(0, 0x10000);
+            for (char c : "\n\r\u0085\u2028\u2029".toCharArray()) {
+                DOT.clear(c);
+            }
+        }
+
+        private final String source;
+        private final boolean caseInsensitive;
+        private int position;
+        private int groups;
+
+        private Parser(String source, boolean caseInsensitive) {
+            this.source = source;
+            this.caseInsensitive = caseInsensitive;
+        }
+
+        private List<List<Element>> alternatives() {
+            List<List<Element>> paths = new ArrayList<>(sequence());
+            while (position < source.length() && source.charAt(position) == '|') {
+                position++;
+                paths.addAll(sequence());
+                check(paths.size());
+            }
+            return paths;
+        }
+
+        /**
+         * Paths of a sequence, the first alternative of its first part combined with all the alternatives of the
+         * rest first.
+         */
+        private List<List<Element>> sequence() {
+            List<List<Element>> paths = Collections.singletonList(Collections.emptyList());
+            while (position < source.length() && source.charAt(position) != '|' && source.charAt(position) != ')') {
+                List<List<Element>> part = quantified(atom());
+                List<List<Element>> combined = new ArrayList<>();
+                for (List<Element> prefix : paths) {
+                    for (List<Element> suffix : part) {
+                        List<Element> path = new ArrayList<>(prefix);
+                        path.addAll(suffix);
+                        combined.add(path);
+                    }
+                }
+                check(combined.size());
+                paths = combined;
+            }
+            return paths;
+        }
+
+        private static void check(int paths) {
+            if (paths > MAX_PATHS) {
+                throw new UnsupportedOperationException();
+            }
+        }
+
+        private List<List<Element>> quantified(List<List<Element>> paths) {
+            if (position >= source.length()) {
+                return paths;
+            }
+            char c = source.charAt(position);
+            if (c == '*' || c == '+' || c == '{') {
+                throw new UnsupportedOperationException();
+            }
+            if (c != '?') {
+                return paths;
+            }
+            position++;
+            List<List<Element>> result = new ArrayList<>();
+            if (position < source.length() && source.charAt(position) == '+') {
+                // Possessive.
+                throw new UnsupportedOperationException();
+            }
+            if (position < source.length() && source.charAt(position) == '?') {
+                // Lazy, so without the part first.
+                position++;
+                result.add(Collections.emptyList());
+                result.addAll(paths);
+            } else {
+                result.addAll(paths);
+                result.add(Collections.emptyList());
+            }
+            return result;
+        }
+
+        private List<List<Element>> atom() {
+            char c = source.charAt(position++);
+            switch (c) {
+                case '(':
+                    int group = 0;
+                    if (source.startsWith("?:", position)) {
+                        position += 2;
+                    } else if (source.charAt(position) == '?') {
+                        // Lookarounds, named groups and inline flags.
+                        throw new UnsupportedOperationException();
+                    } else {
+                        group = ++groups;
+                    }
+                    List<List<Element>> paths = alternatives();
+                    if (source.charAt(position++) != ')') {
+                        throw new UnsupportedOperationException();
+                    }
+                    if (group == 0) {
+                        return paths;
+                    }
+                    List<List<Element>> captured = new ArrayList<>();
+                    for (List<Element> path : paths) {
+                        List<Element> wrapped = new ArrayList<>();
+                        wrapped.add(new Element(Element.OPEN, null, group));
+                        wrapped.addAll(path);
+                        wrapped.add(new Element(Element.CLOSE, null, group));
+                        captured.add(wrapped);
+                    }
+                    return captured;
+                case '[':
+                    return single(new Element(Element.CHAR, characterClass(), 0));
+                case '.':
+                    return single(new Element(Element.CHAR, DOT, 0));
+                case '^':
+                    return single(new Element(Element.BEGIN, null, 0));
+                case '\\':
+                    if (source.charAt(position) == 'b') {
+                        position++;
+                        return single(new Element(Element.BOUNDARY, null, 0));
+                    }
+                    return single(new Element(Element.CHAR, escape(false), 0));
+                case '$':
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw new UnsupportedOperationException();
+                default:
+                    return single(new Element(Element.CHAR, literal(c), 0));
+            }
+        }
+
+        private static List<List<Element>> single(Element element) {
+            return Collections.singletonList(Collections.singletonList(element));
+        }
+
+        /**
+         * Characters matched by a literal, which ignores the case of ASCII letters only, like patterns without
+         * {@link Pattern#UNICODE_CASE}.
+         */
+        private BitSet literal(char c) {
+            BitSet chars = new BitSet();
+            chars.set(c);
+            if (caseInsensitive) {
+                foldAscii(chars);
+            }
+            return chars;
+        }
+
+        private static void foldAscii(BitSet chars) {
+            for (char c = 'a'; c <= 'z'; c++) {
+                if (chars.get(c) || chars.get(c - 0x20)) {
+                    chars.set(c);
+                    chars.set(c - 0x20);
+                }
+            }
+        }
+
+        /**
+         * Characters of an escape other than {@code \b}, either a predefined class or a literal.
+         */
+        private BitSet escape(boolean inClass) {
+            char c = source.charAt(position++);
+            switch (c) {
+                case 'w':
+                    return WORD;
+                case 'W':
+                    return complement(WORD);
+                case 'd':
+                    return DIGIT;
+                case 'D':
+                    return complement(DIGIT);
+                case 's':
+                    return SPACE;
+                case 'S':
+                    return complement(SPACE);
+                default:
+                    BitSet chars = new BitSet();
+                    chars.set(escapedChar(c));
+                    if (caseInsensitive && !inClass) {
+                        foldAscii(chars);
+                    }
+                    return chars;
+            }
+        }
+
+        private char escapedChar(char c) {
+            switch (c) {
+                case 't':
+                    return '\t';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 'f':
+                    return '\f';
+                case 'a':
+                    return '\u0007';
+                case 'e':
+                    return '\u001B';
+                case 'u':
+                    return hex(4);
+                case 'x':
+                    return hex(2);
+                default:
+                    if (Character.isLetterOrDigit(c)) {
+                        // Back references, quoting, property classes and other special constructs.
+                        throw new UnsupportedOperationException();
+                    }
+                    return c;
+            }
+        }
+
+        private char hex(int digits) {
+            String value = source.substring(position, position + digits);
+            position += digits;
+            try {
+                char c = (char) Integer.parseInt(value, 16);
+                if (value.startsWith("+") || value.startsWith("-") || Character.isSurrogate(c)) {
+                    throw new UnsupportedOperationException();
+                }
+                return c;
+            } catch (NumberFormatException e) {
+                throw new UnsupportedOperationException();
+            }
+        }
+
+        /**
+         * Characters of a class without unions, intersections or nested classes. Letters are folded before the
+         * class is negated, like in patterns.
+         */
+        private BitSet characterClass() {
+            boolean negated = source.charAt(position) == '^';
+            if (negated) {
+                position++;
+            }
+            if (source.charAt(position) == ']') {
+                throw new UnsupportedOperationException();
+            }
+            BitSet chars = new BitSet();
+            while (source.charAt(position) != ']') {
+                char c = source.charAt(position++);
+                if (c == '[' || c == '&' && source.charAt(position) == '&') {
+                    throw new UnsupportedOperationException();
+                }
+                BitSet item;
+                if (c == '\\') {
+                    item = escape(true);
+                } else {
+                    item = new BitSet();
+                    item.set(c);
+                }
+                boolean range = source.charAt(position) == '-' && source.charAt(position + 1) != ']';
+                if (range) {
+                    if (item.cardinality() != 1) {
+                        throw new UnsupportedOperationException();
+                    }
+                    position++;
+                    char end = source.charAt(position++);
+                    if (end == '[') {
+                        throw new UnsupportedOperationException();
+                    }
+                    if (end == '\\') {
+                        BitSet escaped = escape(true);
+                        if (escaped.cardinality() != 1) {
+                            throw new UnsupportedOperationException();
+                        }
+                        end = (char) escaped.nextSetBit(0);
+                    }
+                    int start = item.nextSetBit(0);
+                    if (end < start) {
+                        throw new UnsupportedOperationException();
+                    }
+                    item.set(start, end + 1);
+                }
+                chars.or(item);
+            }
+            position++;
+            if (caseInsensitive) {
+                foldAscii(chars);
+            }
+            return negated ? complement(chars) : chars;
+        }
+
+        private static BitSet complement(BitSet chars) {
+            BitSet complement = (BitSet) chars.clone();
+            complement.flip(0, 0x10000);
+            return complement;
+        }
+    }
+
+    /**
+     * Name for the methods of a case.
+     */
+    private static String label(char c) {
+        if (c < 0x80 && Character.isLetterOrDigit(c)) {
+            return String.valueOf(c);
+        }
+        return "x" + Integer.toHexString(c);
+    }
+
+    private static String charLiteral(char c) {
+        if (c >= 0x20 && c < 0x7f && c != '\'' && c != '\\') {
+            return "'" + c + "'";
+        }
+        return "0x" + Integer.toHexString(c);
+    }
+
+    /**
+     * Java string literal of the value, in ASCII.
+     */
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c == '\n') {
+                literal.append("\\n");
+            } else if (c == '\r') {
+                literal.append("\\r");
+            } else if (c == '\t') {
+                literal.append("\\t");
+            } else if (c < 0x20) {
+                // Not a unicode escape, which would be read before the literal.
+                literal.append(String.format("\\%03o", (int) c));
+            } else if (c >= 0x7f) {
+                literal.append(String.format("\\u%04x", (int) c));
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
@@ -0,0 +1,259 @@
+package io.github.encryptorcode.pluralize;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.Buffer;
+import java.nio.CharBuffer;
+import java.util.function.Predicate;
+
+/**
+ * Inflects the words of a text while streaming it from a {@link Reader} to a {@link Writer}.
+ * <p>
+ * A word is a run of letters, which may have apostrophes between them. Everything else, including punctuation,
+ * whitespace and numbers, is copied as is, and so are words with an apostrophe, e.g. contractions like "don't" and
+ * possessives like "cat's", which the rules can't inflect.
+ * Memory stays bounded by a fixed read buffer and the longest word; words longer than
+ * {@link #MAX_WORD_LENGTH} are copied unchanged.
+ */
+public class TextInflector {
+    public static final int MAX_WORD_LENGTH = 256;
+    private static final int BUFFER_SIZE = 8192;
+
+    public enum Mode {
+        /**
+         * Pluralize every selected word.
+         */
+        PLURAL,
+        /**
+         * Singularize every selected word.
+         */
+        SINGULAR,
+        /**
+         * Pluralize or singularize a selected word based on the number right before it, e.g. "1 apples" becomes
+         * "1 apple" and "3 apple" becomes "3 apples". Words without a number are left unchanged. The count rule of
+         * the pluralizer decides which numbers are singular, and a minus sign right before a number makes it
+         * negative. Commas between digits separate thousands and a dot starts the decimals, e.g. "1,000 apples" and
+         * "0.5 apples"; a number with decimals other than zeros is plural.
+         */
+        COUNT
+    }
+
+    private final Pluralizer pluralizer;
+    private final Mode mode;
+    private final Predicate<String> selector;
+
+    /**
+     * @param pluralizer The rules to inflect with
+     * @param mode       How to inflect words
+     * @param selector   Which words to inflect
+     */
+    public TextInflector(Pluralizer pluralizer, Mode mode, Predicate<String> selector) {
+        this.pluralizer = pluralizer;
+        this.mode = mode;
+        this.selector = selector;
+    }
+
+    /**
+     * Inflect every word.
+     */
+    public TextInflector(Pluralizer pluralizer, Mode mode) {
+        this(pluralizer, mode, word -> true);
+    }
+
+    /**
+     * Read the text until the end and write it with the selected words inflected. Neither stream is closed.
+     */
+    public void transform(Reader in, Writer out) throws IOException {
+        Transformation transformation = new Transformation(out);
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            transformation.accept(buffer, 0, read);
+        }
+        transformation.finish();
+    }
+
+    /**
+     * Write the remaining text of the buffer with the selected words inflected, consuming the buffer.
+     */
+    public void transform(CharBuffer in, Writer out) throws IOException {
+        Transformation transformation = new Transformation(out);
+        if (in.hasArray()) {
+            transformation.accept(in.array(), in.arrayOffset() + in.position(), in.remaining());
+            // Through Buffer, whose position(int) also exists on Java 8.
+            ((Buffer) in).position(in.limit());
+        } else {
+            char[] buffer = new char[Math.min(BUFFER_SIZE, in.remaining())];
+            while (in.hasRemaining()) {
+                int length = Math.min(buffer.length, in.remaining());
+                in.get(buffer, 0, length);
+                transformation.accept(buffer, 0, length);
+            }
+        }
+        transformation.finish();
+    }
+
+    private static boolean isApostrophe(char c) {
+        return c == '\'' || c == '\u2019';
+    }
+
+    /**
+     * State of a single transformation, carried across reads.
+     */
+    private class Transformation {
+        private final Writer out;
+        private final StringBuilder word = new StringBuilder();
+        // Set after a word grew too long, until it ends.
+        private boolean overflowing;
+        // An apostrophe right after the word, which belongs to it if a letter follows, or 0.
+        private char apostrophe;
+        // Whether the word has an apostrophe between its letters.
+        private boolean contracted;
+
+        // Count mode: the number being read, whether a minus sign came right before it, and the last number
+        // followed only by whitespace.
+        private boolean inNumber;
+        private boolean minus;
+        private long number;
+        // A '.' or ',' right after a digit, which belongs to the number if a digit follows, or 0.
+        private char separator;
+        private boolean decimals;
+        private boolean fraction;
+        private boolean counted;
+        private long count;
+        private boolean countFraction;
+
+        private Transformation(Writer out) {
+            this.out = out;
+        }
+
+        private void accept(char[] chars, int offset, int length) throws IOException {
+            int end = offset + length;
+            // Start of the characters which are copied as is.
+            int copyFrom = offset;
+            for (int i = offset; i < end; i++) {
+                char c = chars[i];
+                if (Character.isLetter(c)) {
+                    if (overflowing) {
+                        continue;
+                    }
+                    if (word.length() == 0) {
+                        out.write(chars, copyFrom, i - copyFrom);
+                        if (inNumber) {
+                            // E.g. "3rd".
+                            inNumber = false;
+                            separator = 0;
+                            counted = false;
+                        }
+                        minus = false;
+                    }
+                    if (apostrophe != 0) {
+                        word.append(apostrophe);
+                        apostrophe = 0;
+                        contracted = true;
+                    }
+                    word.append(c);
+                    copyFrom = i + 1;
+                    if (word.length() > MAX_WORD_LENGTH) {
+                        out.append(word);
+                        word.setLength(0);
+                        overflowing = true;
+                        contracted = false;
+                        counted = false;
+                    }
+                    continue;
+                }
+                if (isApostrophe(c) && word.length() > 0 && apostrophe == 0) {
+                    apostrophe = c;
+                    copyFrom = i + 1;
+                    continue;
+                }
+
+                overflowing = false;
+                endWord();
+                if (mode == Mode.COUNT) {
+                    trackCount(c);
+                }
+            }
+            out.write(chars, copyFrom, end - copyFrom);
+        }
+
+        /**
+         * Write the word, inflected, then the apostrophe which turned out not to belong to it.
+         */
+        private void endWord() throws IOException {
+            if (word.length() > 0) {
+                out.write(inflect(word.toString()));
+                word.setLength(0);
+                contracted = false;
+            }
+            if (apostrophe != 0) {
+                out.write(apostrophe);
+                apostrophe = 0;
+            }
+        }
+
+        private void trackCount(char c) {
+            if (c >= '0' && c <= '9') {
+                if (!inNumber) {
+                    inNumber = true;
+                    number = 0;
+                    decimals = false;
+                    fraction = false;
+                } else if (separator == '.') {
+                    decimals = true;
+                }
+                separator = 0;
+                if (decimals) {
+                    fraction |= c != '0';
+                } else {
+                    // Saturates, anything that large is plural anyway.
+                    number = number > Long.MAX_VALUE / 10 ? Long.MAX_VALUE : number * 10 + (c - '0');
+                }
+                return;
+            }
+            if (inNumber && separator == 0 && (c == '.' || c == ',')) {
+                separator = c;
+                return;
+            }
+            if (inNumber) {
+                inNumber = false;
+                // E.g. "3, apples" isn't a count.
+                counted = separator == 0 && Character.isWhitespace(c);
+                separator = 0;
+                count = minus ? -number : number;
+                countFraction = fraction;
+            } else if (!Character.isWhitespace(c)) {
+                counted = false;
+            }
+            minus = c == '-';
+        }
+
+        private String inflect(String word) {
+            if (contracted) {
+                this.counted = false;
+                return word;
+            }
+            switch (mode) {
+                case PLURAL:
+                    return selector.test(word) ? pluralizer.plural(word) : word;
+                case SINGULAR:
+                    return selector.test(word) ? pluralizer.singular(word) : word;
+                default:
+                    boolean counted = this.counted;
+                    this.counted = false;
+                    if (!counted || !selector.test(word)) {
+                        return word;
+                    }
+                    return !countFraction && pluralizer.isSingularCount(count)
+                            ? pluralizer.singular(word) : pluralizer.plural(word);
+            }
+        }
+
+        private void finish() throws IOException {
+            endWord();
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.encryptorcode.pluralize;
+
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 words in byte buffers. ASCII words are read in place, as characters, and only other words are decoded.
+ * <p>
+ * Buffers are accessed by absolute index, so their positions and limits don't change, except for the position of
+ * the output.
+ */
+final class Utf8 {
+    private Utf8() {
+    }
+
+    /**
+     * Whether {@code buffer[offset, offset + length)} is ASCII, checking eight bytes at a time.
+     */
+    static boolean isAscii(ByteBuffer buffer, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        for (; i + 8 <= end; i += 8) {
+            if ((buffer.getLong(i) & 0x8080808080808080L) != 0) {
+                return false;
+            }
+        }
+        for (; i < end; i++) {
+            if (buffer.get(i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * View of the ASCII bytes {@code buffer[offset, offset + length)} as characters.
+     */
+    static CharSequence ascii(ByteBuffer buffer, int offset, int length) {
+        return new AsciiBytes(buffer, offset, length);
+    }
+
+    static String decode(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Put the UTF-8 encoding of the text at the position of the output, and move the position past it.
+     *
+     * @throws BufferOverflowException When the output doesn't have room for the text, which leaves it unchanged
+     */
+    static void encode(CharSequence text, ByteBuffer out) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) >= 0x80) {
+                out.put(text.toString().getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+        }
+
+        if (out.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        int position = out.position();
+        for (int i = 0; i < length; i++) {
+            out.put(position + i, (byte) text.charAt(i));
+        }
+        // Through Buffer, whose position(int) also exists on Java 8.
+        ((Buffer) out).position(position + length);
+    }
+
+    private static final class AsciiBytes implements CharSequence {
+        private final ByteBuffer buffer;
+        private final int offset;
+        private final int length;
+
+        AsciiBytes(ByteBuffer buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) buffer.get(offset + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new AsciiBytes(buffer, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new StringBuilder(length).append(this).toString();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.encryptorcode.pluralize;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Progress of inflecting a word list ahead of time with {@link Pluralizer#warmUp}, which fills the caches of the
+ * instance and compiles the rules before the first calls need them.
+ * <p>
+ * The words are split in chunks which run in parallel on an executor. A warm-up running in the background can be
+ * polled for progress, while calls which miss the caches still apply the rules themselves.
+ */
+public final class WarmUp {
+    private final long total;
+    private final AtomicLong completed = new AtomicLong();
+    private final long startTime = System.nanoTime();
+    private volatile long endTime;
+    private final CompletableFuture<WarmUp> completion;
+
+    private WarmUp(String[] words, Executor executor, Consumer<String> inflection) {
+        this.total = words.length;
+        CompletableFuture<?>[] chunks = new CompletableFuture<?>[(words.length + BatchInflector.THRESHOLD - 1)
+                / BatchInflector.THRESHOLD];
+        for (int i = 0; i < chunks.length; i++) {
+            int from = i * BatchInflector.THRESHOLD;
+            int to = Math.min(words.length, from + BatchInflector.THRESHOLD);
+            chunks[i] = CompletableFuture.runAsync(() -> {
+                for (int j = from; j < to; j++) {
+                    inflection.accept(words[j]);
+                }
+                completed.addAndGet(to - from);
+            }, executor);
+        }
+        this.completion = CompletableFuture.allOf(chunks).handle((ignored, failure) -> {
+            endTime = System.nanoTime();
+            if (failure != null) {
+                throw failure instanceof CompletionException
+                        ? (CompletionException) failure : new CompletionException(failure);
+            }
+            return this;
+        });
+    }
+
+    /**
+     * Start inflecting every word on the executor.
+     */
+    static WarmUp start(String[] words, Executor executor, Consumer<String> inflection) {
+        return new WarmUp(words, executor, inflection);
+    }
+
+    /**
+     * Words in the list, including duplicates.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Words inflected so far.
+     */
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    /**
+     * Fraction of the words inflected so far, from 0 to 1.
+     */
+    public double getProgress() {
+        return total == 0 ? 1.0 : (double) completed.get() / total;
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * Time since the warm-up started, or how long it took once it is done.
+     */
+    public Duration getElapsed() {
+        long end = endTime;
+        return Duration.ofNanos((end != 0 ? end : System.nanoTime()) - startTime);
+    }
+
+    /**
+     * Completes with this warm-up when every word is inflected, or with the first failure.
+     */
+    public CompletableFuture<WarmUp> completion() {
+        return completion;
+    }
+
+    /**
+     * Wait until every word is inflected.
+     *
+     * @throws CompletionException If inflecting a word failed
+     */
+    public WarmUp join() {
+        return completion.join();
+    }
+
+    @Override
+    public String toString() {
+        return "WarmUp{completed=" + completed.get() + ", total=" + total + ", elapsed=" + getElapsed() +
+                ", done=" + isDone() + "}";
+    }
+}
@@ -0,0 +1,172 @@
+package io.github.encryptorcode.pluralize;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Two sorted sections of words and their values in a buffer, searched in place without deserializing them. Used as
+ * the format of {@link InflectionTable} and {@link Lexicon}:
+ * <pre>
+ * int   magic
+ * int   format version
+ * long  stamp, e.g. a fingerprint
+ * int   first section entry count
+ * int   second section entry count
+ * int[] first section entry offsets, sorted by word
+ * int[] second section entry offsets, sorted by word
+ * entries: char word length, char[] word, char value length, char[] value
+ * </pre>
+ */
+final class WordSections {
+    static final int FIRST = 0;
+    static final int SECOND = 1;
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+
+    private final ByteBuffer buffer;
+    private final long stamp;
+    private final int[] counts;
+    private final int[] bases;
+
+    /**
+     * @param buffer The sections, from index 0 to the limit
+     * @param magic  Number identifying the kind of file
+     * @param kind   Name of the kind of file, for errors
+     */
+    WordSections(ByteBuffer buffer, int magic, String kind) {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != magic) {
+            throw new IllegalArgumentException("Not a valid " + kind);
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported " + kind + " version: " + buffer.getInt(4));
+        }
+        this.buffer = buffer;
+        this.stamp = buffer.getLong(8);
+        this.counts = new int[]{buffer.getInt(16), buffer.getInt(20)};
+        this.bases = new int[]{HEADER_SIZE, HEADER_SIZE + 4 * counts[FIRST]};
+        if (counts[FIRST] < 0 || counts[SECOND] < 0
+                || (long) bases[SECOND] + 4L * counts[SECOND] > buffer.limit()) {
+            throw new IllegalArgumentException("Truncated " + kind);
+        }
+    }
+
+    /**
+     * Write both sections. Words must not be longer than {@link Character#MAX_VALUE}.
+     */
+    static void write(OutputStream out, int magic, long stamp, Map<String, String> first, Map<String, String> second)
+            throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(magic);
+        data.writeInt(FORMAT_VERSION);
+        data.writeLong(stamp);
+        data.writeInt(first.size());
+        data.writeInt(second.size());
+        long offset = HEADER_SIZE + 4L * (first.size() + second.size());
+        List<Map<String, String>> sections = Arrays.asList(first, second);
+        for (Map<String, String> section : sections) {
+            for (Map.Entry<String, String> entry : section.entrySet()) {
+                if (offset > Integer.MAX_VALUE) {
+                    throw new IOException("Too many words, sections are limited to 2GB");
+                }
+                data.writeInt((int) offset);
+                offset += 4 + 2 * (entry.getKey().length() + entry.getValue().length());
+            }
+        }
+        for (Map<String, String> section : sections) {
+            for (Map.Entry<String, String> entry : section.entrySet()) {
+                data.writeChar(entry.getKey().length());
+                data.writeChars(entry.getKey());
+                data.writeChar(entry.getValue().length());
+                data.writeChars(entry.getValue());
+            }
+        }
+        data.flush();
+    }
+
+    long stamp() {
+        return stamp;
+    }
+
+    int count(int section) {
+        return counts[section];
+    }
+
+    /**
+     * Value of the word in the section, or null.
+     */
+    String get(int section, CharSequence word) {
+        int entry = find(section, word, 0, word.length());
+        if (entry < 0) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder();
+        appendValue(entry, builder);
+        return builder.toString();
+    }
+
+    boolean contains(int section, CharSequence word) {
+        return find(section, word, 0, word.length()) >= 0;
+    }
+
+    /**
+     * Append the value of {@code word[start, end)} in the section. Returns false when the section doesn't have it.
+     */
+    boolean append(int section, CharSequence word, int start, int end, StringBuilder out) {
+        int entry = find(section, word, start, end);
+        if (entry < 0) {
+            return false;
+        }
+        appendValue(entry, out);
+        return true;
+    }
+
+    /**
+     * Offset of the entry of the word in the section, or -1.
+     */
+    private int find(int section, CharSequence word, int start, int end) {
+        int base = bases[section];
+        int low = 0;
+        int high = counts[section] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entry = buffer.getInt(base + 4 * middle);
+            int compared = compare(entry, word, start, end);
+            if (compared < 0) {
+                low = middle + 1;
+            } else if (compared > 0) {
+                high = middle - 1;
+            } else {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    private int compare(int entry, CharSequence word, int start, int end) {
+        int length = buffer.getChar(entry);
+        int shared = Math.min(length, end - start);
+        for (int i = 0; i < shared; i++) {
+            char c = buffer.getChar(entry + 2 + 2 * i);
+            char other = word.charAt(start + i);
+            if (c != other) {
+                return c - other;
+            }
+        }
+        return length - (end - start);
+    }
+
+    private void appendValue(int entry, StringBuilder out) {
+        int position = entry + 2 + 2 * buffer.getChar(entry);
+        int length = buffer.getChar(position);
+        for (int i = 0; i < length; i++) {
+            out.append(buffer.getChar(position + 2 + 2 * i));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.encryptorcode.pluralize;
+
+import java.util.Map;
+
+/**
+ * Immutable open addressing table of words, which can be looked up by any {@link CharSequence} without
+ * converting it to a {@link String} first.
+ * <p>
+ * Words which aren't in the table are looked up in a section of a {@link Lexicon}, when there is one.
+ */
+final class WordTable {
+    private final String[] keys;
+    private final String[] values;
+    private final int mask;
+    private final WordSections fallback;
+    private final int fallbackSection;
+
+    WordTable(Map<String, String> words) {
+        this(words, null, 0);
+    }
+
+    WordTable(Map<String, String> words, WordSections fallback, int fallbackSection) {
+        this.fallback = fallback;
+        this.fallbackSection = fallbackSection;
+        int capacity = Integer.highestOneBit(Math.max(4, words.size() * 2 - 1)) << 1;
+        this.keys = new String[capacity];
+        this.values = new String[capacity];
+        this.mask = capacity - 1;
+        for (Map.Entry<String, String> entry : words.entrySet()) {
+            int slot = hash(entry.getKey()) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = entry.getKey();
+            values[slot] = entry.getValue();
+        }
+    }
+
+    /**
+     * Value of the word, or null when the table doesn't have it.
+     */
+    String get(CharSequence word) {
+        int slot = find(word);
+        if (slot >= 0) {
+            return values[slot];
+        }
+        return fallback == null ? null : fallback.get(fallbackSection, word);
+    }
+
+    boolean contains(CharSequence word) {
+        return find(word) >= 0 || fallback != null && fallback.contains(fallbackSection, word);
+    }
+
+    private int find(CharSequence word) {
+        for (int slot = hash(word) & mask; ; slot = (slot + 1) & mask) {
+            String key = keys[slot];
+            if (key == null) {
+                return -1;
+            }
+            if (contentEquals(key, word)) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Same as {@link String#hashCode()}, which is cached for strings.
+     */
+    private static int hash(CharSequence word) {
+        int hash;
+        if (word instanceof String) {
+            hash = word.hashCode();
+        } else {
+            hash = 0;
+            for (int i = 0; i < word.length(); i++) {
+                hash = 31 * hash + word.charAt(i);
+            }
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean contentEquals(String key, CharSequence word) {
+        if (key.length() != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,246 @@
+package io.github.encryptorcode.pluralize.entities;
+
+import java.util.regex.Pattern;
+
+/**
+ * Longest match of a pattern anchored with {@code $}, in chars.
+ * <p>
+ * Every match of such a pattern ends at the end of the input, or before a trailing line terminator, so a match can
+ * only start within that many chars of the end, and the rest of the input never needs to be scanned. Lookarounds
+ * don't add to the length, because a matcher with transparent bounds still lets them see the whole input. Patterns
+ * with repetitions, back references or other constructs of unknown length aren't bounded.
+ */
+final class MatchLength {
+    static final int UNBOUNDED = -1;
+    // Longer bounds are not worth a region.
+    private static final int MAX_LENGTH = 4096;
+    private static final int UNSUPPORTED_FLAGS = Pattern.LITERAL | Pattern.COMMENTS | Pattern.MULTILINE | Pattern.CANON_EQ;
+
+    private final String source;
+    private int position;
+
+    private MatchLength(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Longest match of the source compiled with the flags, or {@link #UNBOUNDED}. The source is not compiled.
+     */
+    static int of(String source, int flags) {
+        if ((flags & UNSUPPORTED_FLAGS) != 0) {
+            return UNBOUNDED;
+        }
+        if (!source.endsWith("$") || source.endsWith("\\$")) {
+            return UNBOUNDED;
+        }
+        try {
+            MatchLength parser = new MatchLength(source.substring(0, source.length() - 1));
+            // A single alternative, otherwise the `$` only anchors the last one.
+            int length = parser.sequence();
+            return parser.position == parser.source.length() ? length : UNBOUNDED;
+        } catch (UnsupportedOperationException | IndexOutOfBoundsException | NumberFormatException e) {
+            return UNBOUNDED;
+        }
+    }
+
+    private int alternatives() {
+        int length = sequence();
+        while (position < source.length() && source.charAt(position) == '|') {
+            position++;
+            length = Math.max(length, sequence());
+        }
+        return length;
+    }
+
+    private int sequence() {
+        int length = 0;
+        while (position < source.length() && source.charAt(position) != '|' && source.charAt(position) != ')') {
+            length = checked((long) length + quantified(atom()));
+        }
+        return length;
+    }
+
+    private int atom() {
+        char c = source.charAt(position++);
+        switch (c) {
+            case '(':
+                return group();
+            case '[':
+                skipClass();
+                // A class may match a surrogate pair.
+                return 2;
+            case '.':
+                return 2;
+            case '^':
+            case '$':
+                return 0;
+            case '\\':
+                return escape();
+            case '*':
+            case '+':
+            case '?':
+            case '{':
+                throw new UnsupportedOperationException();
+            default:
+                return 1;
+        }
+    }
+
+    private int group() {
+        boolean lookaround = false;
+        if (source.charAt(position) == '?') {
+            if (source.startsWith("?:", position) || source.startsWith("?>", position)) {
+                position += 2;
+            } else if (source.startsWith("?=", position) || source.startsWith("?!", position)) {
+                position += 2;
+                lookaround = true;
+            } else if (source.startsWith("?<=", position) || source.startsWith("?<!", position)) {
+                position += 3;
+                lookaround = true;
+            } else if (source.startsWith("?<", position)) {
+                position = source.indexOf('>', position) + 1;
+            } else {
+                // Inline flags could turn on comments or multiline mode.
+                throw new UnsupportedOperationException();
+            }
+        }
+        int length = alternatives();
+        if (source.charAt(position++) != ')') {
+            throw new UnsupportedOperationException();
+        }
+        return lookaround ? 0 : length;
+    }
+
+    private int escape() {
+        char c = source.charAt(position++);
+        switch (c) {
+            case 'b':
+            case 'B':
+            case 'A':
+            case 'z':
+            case 'Z':
+                return 0;
+            case 'G':
+                // Would match at the start of the region.
+                throw new UnsupportedOperationException();
+            case 'w':
+            case 'W':
+            case 'd':
+            case 'D':
+            case 's':
+            case 'S':
+            case 'h':
+            case 'H':
+            case 'v':
+            case 'V':
+            case 'R':
+                // A line break may be \r\n.
+                return 2;
+            case 'X':
+                // Grapheme clusters have any length.
+                throw new UnsupportedOperationException();
+            case 'p':
+            case 'P':
+            case 'N':
+                if (source.charAt(position) == '{') {
+                    position = source.indexOf('}', position) + 1;
+                } else {
+                    position++;
+                }
+                return 2;
+            case 'x':
+                if (source.charAt(position) == '{') {
+                    position = source.indexOf('}', position) + 1;
+                    return 2;
+                }
+                position += 2;
+                return 1;
+            case 'u':
+                position += 4;
+                return 1;
+            case 'c':
+                position++;
+                return 1;
+            case '0':
+                for (int digits = 0; digits < 3 && position < source.length()
+                        && source.charAt(position) >= '0' && source.charAt(position) <= '7'; digits++) {
+                    position++;
+                }
+                return 1;
+            case 't':
+            case 'n':
+            case 'r':
+            case 'f':
+            case 'a':
+            case 'e':
+                return 1;
+            default:
+                if (Character.isLetterOrDigit(c)) {
+                    // Back references and quoting.
+                    throw new UnsupportedOperationException();
+                }
+                return 1;
+        }
+    }
+
+    private int quantified(int length) {
+        if (position >= source.length()) {
+            return length;
+        }
+        int result;
+        switch (source.charAt(position)) {
+            case '?':
+                result = length;
+                break;
+            case '*':
+            case '+':
+                throw new UnsupportedOperationException();
+            case '{':
+                int close = source.indexOf('}', position);
+                String bounds = source.substring(position + 1, close);
+                int comma = bounds.indexOf(',');
+                if (comma == bounds.length() - 1) {
+                    throw new UnsupportedOperationException();
+                }
+                int maximum = Integer.parseInt(comma < 0 ? bounds : bounds.substring(comma + 1));
+                result = checked((long) length * maximum);
+                position = close;
+                break;
+            default:
+                return length;
+        }
+        position++;
+        // Lazy and possessive modifiers don't change what can be matched.
+        if (position < source.length() && (source.charAt(position) == '?' || source.charAt(position) == '+')) {
+            position++;
+        }
+        return result;
+    }
+
+    private static int checked(long length) {
+        if (length > MAX_LENGTH) {
+            throw new UnsupportedOperationException();
+        }
+        return (int) length;
+    }
+
+    private void skipClass() {
+        int depth = 1;
+        if (source.charAt(position) == '^') {
+            position++;
+        }
+        if (source.charAt(position) == ']') {
+            position++;
+        }
+        while (depth > 0) {
+            char c = source.charAt(position++);
+            if (c == '\\') {
+                position++;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']') {
+                depth--;
+            }
+        }
+    }
+}
@@ -1,21 +1,117 @@
 package io.github.encryptorcode.pluralize.entities;
 
+import java.util.Set;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class RegexRule {
-    private Pattern pattern;
-    private String replacement;
+    private static final int UNKNOWN = -2;
+
+    private final String regex;
+    private final int flags;
+    private volatile Pattern pattern;
+    private final String replacement;
+    private final ReplacementTemplate template;
+    // Analyzed once, so indexes over many rules are cheap to rebuild.
+    private Set<String> suffixes;
+    private volatile boolean analyzed;
+    // Longest match plus a trailing line terminator, computed on first use.
+    private volatile int window = UNKNOWN;
 
     public RegexRule(Pattern pattern, String replacement) {
+        this(pattern.pattern(), pattern.flags(), replacement);
         this.pattern = pattern;
+        validate(pattern);
+    }
+
+    /**
+     * Rule which only compiles its pattern when it is first used.
+     */
+    public RegexRule(String regex, int flags, String replacement) {
+        this.regex = regex;
+        this.flags = flags;
         this.replacement = replacement;
+        this.template = new ReplacementTemplate(replacement);
+    }
+
+    private void validate(Pattern pattern) {
+        int groupCount = pattern.matcher("").groupCount();
+        if (template.getMaxGroup() > groupCount) {
+            throw new IllegalArgumentException("Replacement \"" + replacement + "\" refers to group " +
+                    template.getMaxGroup() + " but " + pattern + " only has " + groupCount);
+        }
     }
 
     public Pattern getPattern() {
+        Pattern pattern = this.pattern;
+        if (pattern == null) {
+            pattern = Pattern.compile(regex, flags);
+            validate(pattern);
+            this.pattern = pattern;
+        }
         return pattern;
     }
 
+    /**
+     * Matcher of the pattern, limited to the end of the input when its matches are bounded and anchored with
+     * {@code $}, so long inputs cost no more than short ones. The rest of the input stays visible to lookarounds,
+     * {@code ^} and {@code \b}, so the matches are the same as over the whole input.
+     */
+    public Matcher matcher(CharSequence input) {
+        Matcher matcher = getPattern().matcher(input);
+        int window = this.window;
+        if (window == UNKNOWN) {
+            int length = MatchLength.of(regex, flags);
+            // `$` also matches before a trailing \r\n.
+            window = length == MatchLength.UNBOUNDED ? MatchLength.UNBOUNDED : length + 2;
+            this.window = window;
+        }
+        if (window != MatchLength.UNBOUNDED && input.length() > window) {
+            matcher.region(input.length() - window, input.length());
+            matcher.useTransparentBounds(true);
+            matcher.useAnchoringBounds(false);
+        }
+        return matcher;
+    }
+
+    /**
+     * Source of the pattern, available without compiling it.
+     */
+    public String getRegex() {
+        return regex;
+    }
+
+    /**
+     * Flags of the pattern, available without compiling it.
+     */
+    public int getFlags() {
+        return flags;
+    }
+
     public String getReplacement() {
         return replacement;
     }
+
+    /**
+     * The replacement, parsed when the rule was created.
+     */
+    public ReplacementTemplate getTemplate() {
+        return template;
+    }
+
+    @Override
+    public String toString() {
+        return regex + " -> " + replacement;
+    }
+
+    /**
+     * Literal suffixes of the matches, or null when the pattern can't be analyzed.
+     */
+    Set<String> suffixes() {
+        if (!analyzed) {
+            suffixes = SuffixIndex.suffixes(regex, flags);
+            analyzed = true;
+        }
+        return suffixes;
+    }
 }
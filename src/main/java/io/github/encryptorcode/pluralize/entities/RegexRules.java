@@ -7,4 +7,11 @@ public class RegexRules extends ArrayList<RegexRule> {
     public void add(Pattern pattern, String replacement){
         this.add(new RegexRule(pattern, replacement));
     }
+
+    /**
+     * Add a rule which only compiles its pattern when it is first used.
+     */
+    public void add(String regex, int flags, String replacement) {
+        this.add(new RegexRule(regex, flags, replacement));
+    }
 }
@@ -0,0 +1,158 @@
+package io.github.encryptorcode.pluralize.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.MatchResult;
+
+/**
+ * Replacement of a rule, parsed once into literal text and group references such as {@code $1}.
+ * <p>
+ * A reference is a {@code $} followed by one or two digits, and a group which didn't participate in the match
+ * is replaced by nothing. Everything else is literal text.
+ */
+public class ReplacementTemplate {
+    // literals[i] comes before groups[i], and the last literal comes after all the groups.
+    private final String[] literals;
+    private final int[] groups;
+    private final boolean lowerCase;
+
+    public ReplacementTemplate(String replacement) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> groups = new ArrayList<>();
+        int literalStart = 0;
+        int i = 0;
+        while (i < replacement.length()) {
+            if (replacement.charAt(i) == '$' && i + 1 < replacement.length() && isDigit(replacement.charAt(i + 1))) {
+                int group = replacement.charAt(i + 1) - '0';
+                int end = i + 2;
+                if (end < replacement.length() && isDigit(replacement.charAt(end))) {
+                    group = group * 10 + replacement.charAt(end) - '0';
+                    end++;
+                }
+                literals.add(replacement.substring(literalStart, i));
+                groups.add(group);
+                literalStart = end;
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        literals.add(replacement.substring(literalStart));
+
+        this.literals = literals.toArray(new String[0]);
+        this.groups = new int[groups.size()];
+        for (int j = 0; j < this.groups.length; j++) {
+            this.groups[j] = groups.get(j);
+        }
+        this.lowerCase = isLowerCase(this.literals);
+    }
+
+    /**
+     * Highest group referenced by the template, or 0 when there are no references.
+     */
+    public int getMaxGroup() {
+        int max = 0;
+        for (int group : groups) {
+            max = Math.max(max, group);
+        }
+        return max;
+    }
+
+    /**
+     * Number of group references.
+     */
+    public int getReferenceCount() {
+        return groups.length;
+    }
+
+    /**
+     * Group of the reference at the index.
+     */
+    public int getGroup(int reference) {
+        return groups[reference];
+    }
+
+    /**
+     * Literal text before the reference at the index, or after all the references for the reference count.
+     */
+    public String getLiteral(int reference) {
+        return literals[reference];
+    }
+
+    /**
+     * Append the replacement for the match in a single pass.
+     */
+    public void appendTo(CharSequence input, MatchResult match, StringBuilder out) {
+        for (int i = 0; i < groups.length; i++) {
+            out.append(literals[i]);
+            int start = match.start(groups[i]);
+            if (start >= 0) {
+                out.append(input, start, match.end(groups[i]));
+            }
+        }
+        out.append(literals[groups.length]);
+    }
+
+    /**
+     * Whether the literal text is lower case ASCII, so the replacement for a lower case input is lower case too.
+     */
+    public boolean isLowerCase() {
+        return lowerCase;
+    }
+
+    /**
+     * Whether the replacement for the match equals {@code expected[start, end)}, without building it.
+     */
+    public boolean matches(CharSequence input, MatchResult match, CharSequence expected, int start, int end) {
+        int position = start;
+        for (int i = 0; i <= groups.length; i++) {
+            String literal = literals[i];
+            if (!regionMatches(literal, 0, literal.length(), expected, position, end)) {
+                return false;
+            }
+            position += literal.length();
+            if (i == groups.length) {
+                break;
+            }
+
+            int groupStart = match.start(groups[i]);
+            if (groupStart >= 0) {
+                int groupEnd = match.end(groups[i]);
+                if (!regionMatches(input, groupStart, groupEnd, expected, position, end)) {
+                    return false;
+                }
+                position += groupEnd - groupStart;
+            }
+        }
+        return position == end;
+    }
+
+    private static boolean regionMatches(CharSequence text, int start, int end, CharSequence expected, int from,
+                                         int limit) {
+        if (end - start > limit - from) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) != expected.charAt(from + i - start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLowerCase(String[] literals) {
+        for (String literal : literals) {
+            for (int i = 0; i < literal.length(); i++) {
+                char c = literal.charAt(i);
+                if (c >= 0x80 || (c >= 'A' && c <= 'Z')) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,394 @@
+package io.github.encryptorcode.pluralize.entities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Reversed-character trie over the literal suffixes of a list of rules.
+ * <p>
+ * Every rule is analyzed once to find a set of literal suffixes that any of its matches must end with.
+ * Looking up a word walks the trie backwards from the last character and marks the rules whose suffix
+ * was reached. Rules that cannot be analyzed (e.g. unanchored patterns or lookarounds) are always marked,
+ * so the regex evaluated for each candidate stays the only source of truth.
+ */
+public class SuffixIndex {
+    // Above this many alternatives a rule is simply treated as always matching.
+    private static final int MAX_SUFFIXES = 512;
+    private static final int UNSUPPORTED_FLAGS = Pattern.LITERAL | Pattern.COMMENTS | Pattern.MULTILINE | Pattern.CANON_EQ;
+
+    private final int size;
+    private final BitSet always = new BitSet();
+    private final Node root;
+
+    public SuffixIndex(List<RegexRule> rules) {
+        this.size = rules.size();
+        MutableNode root = new MutableNode();
+        for (int i = 0; i < size; i++) {
+            Set<String> suffixes = rules.get(i).suffixes();
+            if (suffixes == null || suffixes.contains("")) {
+                always.set(i);
+                continue;
+            }
+            for (String suffix : suffixes) {
+                MutableNode node = root;
+                for (int j = suffix.length() - 1; j >= 0; j--) {
+                    node = node.child(fold(suffix.charAt(j)));
+                }
+                node.rules.add(i);
+            }
+        }
+        this.root = root.freeze();
+    }
+
+    /**
+     * Indexes of the rules that may match the word. Rules outside of the result are guaranteed not to match.
+     */
+    public BitSet candidates(CharSequence word) {
+        BitSet candidates = (BitSet) always.clone();
+        int length = word.length();
+
+        // `$` also matches before a trailing line terminator, which the trie doesn't model.
+        if (length > 0 && isLineTerminator(word.charAt(length - 1))) {
+            candidates.set(0, size);
+            return candidates;
+        }
+
+        Node node = root;
+        for (int i = length - 1; i >= 0 && node != null; i--) {
+            node = node.child(fold(word.charAt(i)));
+            if (node != null) {
+                for (int rule : node.rules) {
+                    candidates.set(rule);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Literal suffixes that every match of the pattern ends with, or null if the pattern can't be analyzed.
+     */
+    static Set<String> suffixes(Pattern pattern) {
+        return suffixes(pattern.pattern(), pattern.flags());
+    }
+
+    /**
+     * Literal suffixes that every match of the source compiled with the flags ends with, or null if the source
+     * can't be analyzed. The source is not compiled.
+     */
+    static Set<String> suffixes(String source, int flags) {
+        if ((flags & UNSUPPORTED_FLAGS) != 0) {
+            return null;
+        }
+        if (!source.endsWith("$") || source.endsWith("\\$")) {
+            return null;
+        }
+        try {
+            Parser parser = new Parser(source.substring(0, source.length() - 1));
+            List<List<Term>> alternatives = parser.alternatives();
+            if (parser.position != parser.source.length() || alternatives.size() != 1) {
+                return null;
+            }
+            Term tail = sequence(alternatives.get(0));
+            return tail == null ? null : Collections.unmodifiableSet(tail.strings);
+        } catch (UnsupportedOperationException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Case folding that is at least as loose as {@link Pattern#CASE_INSENSITIVE}, so the trie never rejects a match.
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * Combine terms of a sequence from the right. Stops at the first term which is not an exact literal,
+     * because anything to the left of it is no longer a known suffix.
+     */
+    private static Term sequence(List<Term> terms) {
+        Set<String> strings = Collections.singleton("");
+        boolean exact = true;
+        for (int i = terms.size() - 1; i >= 0; i--) {
+            Term term = terms.get(i);
+            Set<String> combined = new HashSet<>();
+            for (String prefix : term.strings) {
+                for (String suffix : strings) {
+                    combined.add(prefix + suffix);
+                }
+            }
+            if (combined.size() > MAX_SUFFIXES) {
+                return null;
+            }
+            strings = combined;
+            if (!term.exact) {
+                exact = false;
+                break;
+            }
+        }
+        return new Term(strings, exact);
+    }
+
+    /**
+     * Set of strings a part of a pattern can match. When not exact, the strings are only suffixes of the matches.
+     */
+    private static class Term {
+        private static final Term ANY = new Term(Collections.singleton(""), false);
+
+        private final Set<String> strings;
+        private final boolean exact;
+
+        private Term(Set<String> strings, boolean exact) {
+            this.strings = strings;
+            this.exact = exact;
+        }
+    }
+
+    /**
+     * Minimal recursive descent parser for the subset of regular expressions used by rules.
+     * Anything outside of that subset throws {@link UnsupportedOperationException}.
+     */
+    private static class Parser {
+        private final String source;
+        private int position;
+
+        private Parser(String source) {
+            this.source = source;
+        }
+
+        private List<List<Term>> alternatives() {
+            List<List<Term>> alternatives = new ArrayList<>();
+            List<Term> current = new ArrayList<>();
+            alternatives.add(current);
+            while (position < source.length()) {
+                char c = source.charAt(position);
+                if (c == ')') {
+                    break;
+                }
+                if (c == '|') {
+                    position++;
+                    current = new ArrayList<>();
+                    alternatives.add(current);
+                    continue;
+                }
+                current.add(quantified(atom()));
+            }
+            return alternatives;
+        }
+
+        private Term atom() {
+            char c = source.charAt(position++);
+            switch (c) {
+                case '(':
+                    if (source.startsWith("?:", position)) {
+                        position += 2;
+                    } else if (source.charAt(position) == '?') {
+                        // Lookarounds, named groups and inline flags.
+                        throw new UnsupportedOperationException();
+                    }
+                    List<List<Term>> alternatives = alternatives();
+                    if (source.charAt(position++) != ')') {
+                        throw new UnsupportedOperationException();
+                    }
+                    Set<String> strings = new HashSet<>();
+                    boolean exact = true;
+                    for (List<Term> alternative : alternatives) {
+                        Term term = sequence(alternative);
+                        if (term == null) {
+                            throw new UnsupportedOperationException();
+                        }
+                        strings.addAll(term.strings);
+                        exact &= term.exact;
+                    }
+                    return new Term(strings, exact);
+                case '[':
+                    skipClass();
+                    return Term.ANY;
+                case '.':
+                case '^':
+                case '$':
+                    return Term.ANY;
+                case '\\':
+                    return escape();
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw new UnsupportedOperationException();
+                default:
+                    return literal(c);
+            }
+        }
+
+        private Term escape() {
+            char c = source.charAt(position++);
+            switch (c) {
+                case 'b':
+                case 'B':
+                case 'w':
+                case 'W':
+                case 'd':
+                case 'D':
+                case 's':
+                case 'S':
+                case 'h':
+                case 'H':
+                case 'v':
+                case 'V':
+                    return Term.ANY;
+                case 't':
+                    return literal('\t');
+                case 'n':
+                    return literal('\n');
+                case 'r':
+                    return literal('\r');
+                case 'f':
+                    return literal('\f');
+                case 'a':
+                    return literal('\u0007');
+                case 'e':
+                    return literal('\u001B');
+                case 'u':
+                    return literal(hex(4));
+                case 'x':
+                    return literal(hex(2));
+                default:
+                    if (Character.isLetterOrDigit(c)) {
+                        // Back references, quoting, property classes and other special constructs.
+                        throw new UnsupportedOperationException();
+                    }
+                    return literal(c);
+            }
+        }
+
+        private char hex(int digits) {
+            String value = source.substring(position, position + digits);
+            position += digits;
+            try {
+                return (char) Integer.parseInt(value, 16);
+            } catch (NumberFormatException e) {
+                throw new UnsupportedOperationException();
+            }
+        }
+
+        private void skipClass() {
+            int depth = 1;
+            if (source.charAt(position) == '^') {
+                position++;
+            }
+            if (source.charAt(position) == ']') {
+                position++;
+            }
+            while (depth > 0) {
+                char c = source.charAt(position++);
+                if (c == '\\') {
+                    position++;
+                } else if (c == '[') {
+                    depth++;
+                } else if (c == ']') {
+                    depth--;
+                }
+            }
+        }
+
+        private Term quantified(Term term) {
+            if (position >= source.length()) {
+                return term;
+            }
+            Term result;
+            switch (source.charAt(position)) {
+                case '?':
+                    Set<String> strings = new HashSet<>(term.strings);
+                    strings.add("");
+                    result = new Term(strings, term.exact);
+                    break;
+                case '*':
+                    result = Term.ANY;
+                    break;
+                case '+':
+                    result = new Term(term.strings, false);
+                    break;
+                case '{':
+                    int close = source.indexOf('}', position);
+                    String bounds = source.substring(position + 1, close);
+                    int comma = bounds.indexOf(',');
+                    int minimum = Integer.parseInt(comma < 0 ? bounds : bounds.substring(0, comma));
+                    result = minimum > 0 ? new Term(term.strings, false) : Term.ANY;
+                    position = close;
+                    break;
+                default:
+                    return term;
+            }
+            position++;
+            // Lazy and possessive modifiers don't change what can be matched.
+            if (position < source.length() && (source.charAt(position) == '?' || source.charAt(position) == '+')) {
+                position++;
+            }
+            return result;
+        }
+
+        private static Term literal(char c) {
+            return new Term(Collections.singleton(String.valueOf(c)), true);
+        }
+    }
+
+    private static class MutableNode {
+        private final TreeMap<Character, MutableNode> children = new TreeMap<>();
+        private final List<Integer> rules = new ArrayList<>();
+
+        private MutableNode child(char c) {
+            // Not computeIfAbsent, the first lambda of a JVM is costly and this runs on the first call.
+            MutableNode child = children.get(c);
+            if (child == null) {
+                child = new MutableNode();
+                children.put(c, child);
+            }
+            return child;
+        }
+
+        private Node freeze() {
+            char[] keys = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, MutableNode> entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i++] = entry.getValue().freeze();
+            }
+            int[] ruleIds = new int[rules.size()];
+            for (int j = 0; j < ruleIds.length; j++) {
+                ruleIds[j] = rules.get(j);
+            }
+            return new Node(keys, nodes, ruleIds);
+        }
+    }
+
+    private static class Node {
+        private final char[] keys;
+        private final Node[] children;
+        private final int[] rules;
+
+        private Node(char[] keys, Node[] children, int[] rules) {
+            this.keys = keys;
+            this.children = children;
+            this.rules = rules;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index < 0 ? null : children[index];
+        }
+    }
+}
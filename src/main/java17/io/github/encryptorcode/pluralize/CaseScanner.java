@@ -0,0 +1,40 @@
+package io.github.encryptorcode.pluralize;
+
+/**
+ * Classifies the shapes of many words at once, for the batch APIs.
+ * <p>
+ * Uses {@link VectorCaseScanner} when the incubating Vector API is available, which takes
+ * {@code --add-modules jdk.incubator.vector}, and the scalar loop otherwise. The {@code pluralize.vectorize} system
+ * property set to {@code false} turns the Vector API off.
+ */
+final class CaseScanner {
+    private static final boolean VECTORIZED = isVectorized();
+
+    private CaseScanner() {
+    }
+
+    /**
+     * Store the shape of {@code words[i]} at {@code shapes[i - from]}, as {@link CaseShape#of} would.
+     */
+    static void classify(String[] words, int from, int to, CaseShape[] shapes) {
+        if (VECTORIZED) {
+            VectorCaseScanner.classify(words, from, to, shapes);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            shapes[i - from] = CaseShape.of(words[i], 0, words[i].length());
+        }
+    }
+
+    private static boolean isVectorized() {
+        if (!Boolean.parseBoolean(System.getProperty("pluralize.vectorize", "true"))) {
+            return false;
+        }
+        try {
+            return VectorCaseScanner.isSupported();
+        } catch (LinkageError e) {
+            // The module isn't there.
+            return false;
+        }
+    }
+}
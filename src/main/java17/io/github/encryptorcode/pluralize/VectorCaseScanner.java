@@ -0,0 +1,156 @@
+package io.github.encryptorcode.pluralize;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Classifies ASCII words with the Vector API.
+ * <p>
+ * The characters of many words are copied next to each other, and every vector of them sets three bitmaps: non
+ * ASCII characters, upper case letters and lower case letters. The shape of a word then only takes a few bit
+ * operations over its range. Must only be loaded when the {@code jdk.incubator.vector} module is available.
+ */
+final class VectorCaseScanner {
+    // Sixteen lanes, so the bits of a mask fit in a short.
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_256;
+    private static final ShortVector BITS = ShortVector.fromArray(SPECIES, new short[]{
+            1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024, 2048, 4096, 8192, 16384, (short) 32768}, 0);
+    private static final ShortVector ZERO = ShortVector.zero(SPECIES);
+    // Characters classified at once. Longer words are classified one by one.
+    private static final int BUFFER = 8192;
+
+    private VectorCaseScanner() {
+    }
+
+    /**
+     * Whether the hardware has vectors of sixteen characters, otherwise the API falls back to slow Java code.
+     */
+    static boolean isSupported() {
+        return ShortVector.SPECIES_PREFERRED.vectorBitSize() >= SPECIES.vectorBitSize();
+    }
+
+    static void classify(String[] words, int from, int to, CaseShape[] shapes) {
+        if (!CaseShape.isAsciiLocale()) {
+            for (int i = from; i < to; i++) {
+                shapes[i - from] = null;
+            }
+            return;
+        }
+
+        char[] chars = new char[BUFFER];
+        long[] nonAscii = new long[BUFFER / 64];
+        long[] upper = new long[BUFFER / 64];
+        long[] lower = new long[BUFFER / 64];
+        int first = from;
+        int used = 0;
+        for (int i = from; i < to; i++) {
+            int length = words[i].length();
+            if (length > BUFFER) {
+                shapes[i - from] = CaseShape.of(words[i], 0, length);
+                continue;
+            }
+            if (used + length > BUFFER) {
+                scan(chars, used, nonAscii, upper, lower);
+                shape(words, first, i, from, nonAscii, upper, lower, shapes);
+                first = i;
+                used = 0;
+            }
+            words[i].getChars(0, length, chars, used);
+            used += length;
+        }
+        scan(chars, used, nonAscii, upper, lower);
+        shape(words, first, to, from, nonAscii, upper, lower, shapes);
+    }
+
+    /**
+     * Set the bitmaps of {@code chars[0, used)}.
+     */
+    private static void scan(char[] chars, int used, long[] nonAscii, long[] upper, long[] lower) {
+        int lanes = SPECIES.length();
+        int end = (used + lanes - 1) / lanes * lanes;
+        // Padding is neither a letter nor non ASCII.
+        for (int i = used; i < end; i++) {
+            chars[i] = 0;
+        }
+        for (int offset = 0; offset < end; offset += lanes) {
+            ShortVector vector = ShortVector.fromCharArray(SPECIES, chars, offset);
+            VectorMask<Short> other = vector.and((short) 0xff80).compare(VectorOperators.NE, (short) 0);
+            VectorMask<Short> upperCase = vector.compare(VectorOperators.GE, (short) 'A')
+                    .and(vector.compare(VectorOperators.LE, (short) 'Z'));
+            VectorMask<Short> lowerCase = vector.compare(VectorOperators.GE, (short) 'a')
+                    .and(vector.compare(VectorOperators.LE, (short) 'z'));
+
+            int index = offset >>> 6;
+            int shift = offset & 63;
+            long clear = 0xffffL << shift;
+            nonAscii[index] = (nonAscii[index] & ~clear) | (bits(other) << shift);
+            upper[index] = (upper[index] & ~clear) | (bits(upperCase) << shift);
+            lower[index] = (lower[index] & ~clear) | (bits(lowerCase) << shift);
+        }
+    }
+
+    /**
+     * Lanes of the mask as bits. Reducing a blend is compiled to vector instructions, unlike
+     * {@link VectorMask#toLong()} on Java 17.
+     */
+    private static long bits(VectorMask<Short> mask) {
+        if (!mask.anyTrue()) {
+            return 0;
+        }
+        return ZERO.blend(BITS, mask).reduceLanes(VectorOperators.OR) & 0xffffL;
+    }
+
+    /**
+     * Shapes of {@code words[first, last)}, whose characters were scanned one after the other.
+     */
+    private static void shape(String[] words, int first, int last, int from, long[] nonAscii, long[] upper,
+                              long[] lower, CaseShape[] shapes) {
+        int start = 0;
+        for (int i = first; i < last; i++) {
+            int length = words[i].length();
+            if (length > BUFFER) {
+                continue;
+            }
+            int end = start + length;
+            CaseShape shape;
+            if (any(nonAscii, start, end)) {
+                shape = null;
+            } else if (!any(upper, start, end)) {
+                shape = CaseShape.LOWER;
+            } else if (!any(lower, start, end)) {
+                shape = CaseShape.UPPER;
+            } else {
+                shape = (upper[start >>> 6] & (1L << start)) != 0 ? CaseShape.TITLE : CaseShape.MIXED;
+            }
+            shapes[i - from] = shape;
+            start = end;
+        }
+    }
+
+    /**
+     * Whether any bit of {@code [start, end)} is set.
+     */
+    private static boolean any(long[] bits, int start, int end) {
+        if (start >= end) {
+            return false;
+        }
+        int first = start >>> 6;
+        int last = (end - 1) >>> 6;
+        long firstMask = -1L << start;
+        long lastMask = -1L >>> -end;
+        if (first == last) {
+            return (bits[first] & firstMask & lastMask) != 0;
+        }
+        if ((bits[first] & firstMask) != 0 || (bits[last] & lastMask) != 0) {
+            return true;
+        }
+        for (int i = first + 1; i < last; i++) {
+            if (bits[i] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
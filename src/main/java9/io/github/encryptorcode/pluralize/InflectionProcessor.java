@@ -0,0 +1,373 @@
+package io.github.encryptorcode.pluralize;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * {@link Flow.Processor} which inflects words, or records holding words, in micro-batches.
+ * <p>
+ * Items are only requested from upstream when there is demand downstream, and at most one batch is buffered.
+ * Batches run one at a time on the executor, so results keep their order. While a batch runs the next items queue
+ * up, so batches grow with the load, up to the batch size, and a single item doesn't wait for others.
+ * <p>
+ * Only one subscriber is supported.
+ *
+ * @param <T> Type of the items from upstream
+ * @param <R> Type of the inflected items
+ */
+public final class InflectionProcessor<T, R> implements Flow.Processor<T, R> {
+    private static final Flow.Subscription CANCELLED = new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private final Function<List<T>, List<? extends R>> inflection;
+    private final int batchSize;
+    private final Executor executor;
+
+    private final Object lock = new Object();
+    // Guarded by lock.
+    private final ArrayDeque<T> pending = new ArrayDeque<>();
+    private Flow.Subscription upstream;
+    private Flow.Subscriber<? super R> downstream;
+    private boolean subscribed;
+    private long demand;
+    private long requested;
+    private boolean running;
+    private boolean completed;
+    private Throwable error;
+    private volatile boolean finished;
+    private boolean draining;
+
+    private InflectionProcessor(Builder<T, R> builder) {
+        this.inflection = builder.inflection;
+        this.batchSize = builder.batchSize;
+        this.executor = builder.executor;
+    }
+
+    /**
+     * Processor of words to their plural.
+     */
+    public static Builder<String, String> plural(Pluralizer pluralizer) {
+        return new Builder<>(words -> {
+            String[] results = new String[words.size()];
+            pluralizer.plural(words.toArray(new String[0]), results);
+            return Arrays.asList(results);
+        });
+    }
+
+    /**
+     * Processor of words to their singular.
+     */
+    public static Builder<String, String> singular(Pluralizer pluralizer) {
+        return new Builder<>(words -> {
+            String[] results = new String[words.size()];
+            pluralizer.singular(words.toArray(new String[0]), results);
+            return Arrays.asList(results);
+        });
+    }
+
+    /**
+     * Processor of any items, e.g. records whose words are inflected by the function. Results must not be null, a null
+     * result fails the stream with a {@link NullPointerException}.
+     */
+    public static <T, R> Builder<T, R> mapping(Function<? super T, ? extends R> inflection) {
+        return new Builder<>(items -> {
+            List<R> results = new ArrayList<>(items.size());
+            for (T item : items) {
+                results.add(inflection.apply(item));
+            }
+            return results;
+        });
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        boolean accepted;
+        synchronized (lock) {
+            accepted = upstream == null && !finished;
+            if (accepted) {
+                upstream = subscription;
+            }
+        }
+        if (!accepted) {
+            subscription.cancel();
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onNext(T item) {
+        Objects.requireNonNull(item);
+        synchronized (lock) {
+            if (finished || completed) {
+                return;
+            }
+            pending.add(item);
+            requested--;
+        }
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable);
+        synchronized (lock) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            error = throwable;
+        }
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (lock) {
+            completed = true;
+        }
+        drain();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        Objects.requireNonNull(subscriber);
+        boolean accepted;
+        synchronized (lock) {
+            accepted = downstream == null;
+            if (accepted) {
+                downstream = subscriber;
+            }
+        }
+        if (!accepted) {
+            subscriber.onSubscribe(CANCELLED);
+            subscriber.onError(new IllegalStateException("Only one subscriber is supported"));
+            return;
+        }
+
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                synchronized (lock) {
+                    if (n <= 0) {
+                        fail(new IllegalArgumentException("Requested " + n + " items, must be positive"));
+                    } else {
+                        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                    }
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                Flow.Subscription subscription;
+                synchronized (lock) {
+                    finished = true;
+                    pending.clear();
+                    subscription = upstream;
+                }
+                if (subscription != null) {
+                    subscription.cancel();
+                }
+            }
+        });
+        synchronized (lock) {
+            subscribed = true;
+        }
+        drain();
+    }
+
+    /**
+     * Stop taking items, and report the error once the current batch is done. Must hold the lock.
+     */
+    private void fail(Throwable throwable) {
+        if (error == null) {
+            error = throwable;
+        }
+        completed = true;
+        pending.clear();
+        if (upstream != null) {
+            // Cancelling only sets a flag in well behaved publishers.
+            upstream.cancel();
+        }
+    }
+
+    /**
+     * Request more items, start the next batch or signal the end, whichever the state allows. Only one thread
+     * drains at a time, and it looks at the state again after every action, so nested signals never recurse.
+     */
+    private void drain() {
+        synchronized (lock) {
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+
+        while (true) {
+            Flow.Subscription subscription = null;
+            long count = 0;
+            List<T> batch = null;
+            boolean end = false;
+            Throwable failure = null;
+            synchronized (lock) {
+                if (!finished && subscribed) {
+                    if (!running && demand > 0 && !pending.isEmpty()) {
+                        int size = (int) Math.min(Math.min(pending.size(), batchSize), demand);
+                        batch = new ArrayList<>(size);
+                        for (int i = 0; i < size; i++) {
+                            batch.add(pending.poll());
+                        }
+                        demand -= size;
+                        running = true;
+                    } else if (!running && pending.isEmpty() && completed) {
+                        finished = true;
+                        end = true;
+                        failure = error;
+                    }
+
+                    count = Math.min(demand, batchSize) - pending.size() - requested;
+                    if (upstream != null && !completed && count > 0) {
+                        subscription = upstream;
+                        requested += count;
+                    }
+                }
+
+                if (subscription == null && batch == null && !end) {
+                    draining = false;
+                    return;
+                }
+            }
+
+            if (subscription != null) {
+                subscription.request(count);
+            }
+            if (batch != null) {
+                List<T> items = batch;
+                try {
+                    executor.execute(() -> run(items));
+                } catch (RuntimeException e) {
+                    synchronized (lock) {
+                        running = false;
+                        fail(e);
+                    }
+                }
+            }
+            if (end) {
+                if (failure == null) {
+                    downstream.onComplete();
+                } else {
+                    downstream.onError(failure);
+                }
+            }
+        }
+    }
+
+    private void run(List<T> batch) {
+        try {
+            List<? extends R> results = null;
+            try {
+                results = inflection.apply(batch);
+                if (results == null || results.size() != batch.size()) {
+                    throw new IllegalStateException("The inflection returned " +
+                            (results == null ? "no results" : results.size() + " results") + " for " + batch.size() +
+                            " items");
+                }
+                // Reactive Streams forbid signalling null.
+                for (int i = 0; i < results.size(); i++) {
+                    if (results.get(i) == null) {
+                        throw new NullPointerException("The inflection returned null for item " + i + " of the batch");
+                    }
+                }
+            } catch (Throwable e) {
+                // Errors too, otherwise the stream would never end.
+                results = null;
+                synchronized (lock) {
+                    fail(e);
+                }
+            }
+
+            if (results != null) {
+                for (R result : results) {
+                    if (finished) {
+                        break;
+                    }
+                    downstream.onNext(result);
+                }
+            }
+        } finally {
+            synchronized (lock) {
+                running = false;
+            }
+            drain();
+        }
+    }
+
+    /**
+     * Configures an {@link InflectionProcessor}.
+     */
+    public static final class Builder<T, R> {
+        private final Function<List<T>, List<? extends R>> inflection;
+        private int batchSize = 256;
+        private Executor executor = ForkJoinPool.commonPool();
+
+        Builder(Function<List<T>, List<? extends R>> inflection) {
+            this.inflection = inflection;
+        }
+
+        /**
+         * Most items in a batch. Defaults to 256.
+         */
+        public Builder<T, R> batchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Run batches on this executor instead of the common fork-join pool.
+         */
+        public Builder<T, R> executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+
+        /**
+         * Run every batch on a new virtual thread when the JDK has them, from Java 21. Older JDKs keep the current
+         * executor.
+         */
+        public Builder<T, R> virtualThreads() {
+            try {
+                // Looked up by reflection, because this class is compiled for Java 9.
+                this.executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // No virtual threads.
+            }
+            return this;
+        }
+
+        public InflectionProcessor<T, R> build() {
+            return new InflectionProcessor<>(this);
+        }
+    }
+}
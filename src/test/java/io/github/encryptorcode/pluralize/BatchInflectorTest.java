@@ -0,0 +1,57 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test suite for batch inflection
+ */
+public class BatchInflectorTest {
+    private static final Pluralizer PLURALIZER = Pluralizer.builder().withDefaultRules().build();
+
+    private static String[] words(int count) {
+        List<String> vocabulary = new ArrayList<>(PluralizeTestData.PLURAL_TESTS.keySet());
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            words[i] = vocabulary.get(i % vocabulary.size());
+        }
+        return words;
+    }
+
+    @Test
+    public void matchesSingleWords() {
+        String[] words = words(BatchInflector.THRESHOLD * 5 + 7);
+        String[] plurals = new String[words.length];
+        String[] singulars = new String[words.length];
+        PLURALIZER.plural(words, plurals);
+        PLURALIZER.singular(plurals, singulars);
+
+        for (int i = 0; i < words.length; i++) {
+            assertEquals(words[i], PLURALIZER.plural(words[i]), plurals[i]);
+            assertEquals(plurals[i], PLURALIZER.singular(plurals[i]), singulars[i]);
+        }
+    }
+
+    @Test
+    public void listsAndStreams() {
+        List<String> words = Arrays.asList("test", "Box", "test", "PERSON");
+        String[] fromList = new String[4];
+        String[] fromStream = new String[5];
+        PLURALIZER.plural(words, fromList);
+        PLURALIZER.plural(words.stream(), fromStream);
+
+        assertArrayEquals(new String[]{"tests", "Boxes", "tests", "PEOPLE"}, fromList);
+        assertArrayEquals(new String[]{"tests", "Boxes", "tests", "PEOPLE", null}, fromStream);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void resultsTooSmall() {
+        PLURALIZER.singular(new String[]{"tests", "boxes"}, new String[1]);
+    }
+}
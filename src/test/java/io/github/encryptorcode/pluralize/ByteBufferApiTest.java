@@ -0,0 +1,102 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test suite for the UTF-8 {@link ByteBuffer} overloads
+ */
+public class ByteBufferApiTest {
+    private final Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().build();
+
+    private static String read(ByteBuffer out) {
+        byte[] bytes = new byte[out.position()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = out.get(i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void sameAsStrings() {
+        ByteBuffer out = ByteBuffer.allocateDirect(256);
+        List<Map<String, String>> sections = Arrays.asList(PluralizeTestData.BASIC_TESTS,
+                PluralizeTestData.PLURAL_TESTS, PluralizeTestData.SINGULAR_TESTS);
+        for (Map<String, String> tests : sections) {
+            for (Map.Entry<String, String> entry : tests.entrySet()) {
+                for (String word : new String[]{entry.getKey(), entry.getValue(), entry.getKey().toUpperCase()}) {
+                    byte[] bytes = ("<<" + word + ">>").getBytes(StandardCharsets.UTF_8);
+                    int length = bytes.length - 4;
+                    for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.wrap(bytes), direct(bytes)}) {
+                        out.clear();
+                        pluralizer.plural(buffer, 2, length, out);
+                        assertEquals(pluralizer.plural(word), read(out));
+
+                        out.clear();
+                        pluralizer.singular(buffer, 2, length, out);
+                        assertEquals(pluralizer.singular(word), read(out));
+
+                        assertEquals(pluralizer.isPlural(word), pluralizer.isPlural(buffer, 2, length));
+                        assertEquals(pluralizer.isSingular(word), pluralizer.isSingular(buffer, 2, length));
+                        assertEquals(0, buffer.position());
+                    }
+                }
+            }
+        }
+    }
+
+    private static ByteBuffer direct(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.clear();
+        return buffer;
+    }
+
+    @Test
+    public void appendsAtThePosition() {
+        ByteBuffer in = ByteBuffer.wrap("one person and one café".getBytes(StandardCharsets.UTF_8));
+        ByteBuffer out = ByteBuffer.allocate(64);
+        pluralizer.plural(in, 4, 6, out);
+        out.put((byte) ' ');
+        pluralizer.plural(in, 19, 5, out);
+        // Words ending with non ASCII letters are left as they are.
+        assertEquals("people café", read(out));
+        assertTrue(pluralizer.isSingular(in, 19, 5));
+        assertFalse(pluralizer.isPlural(in, 4, 6));
+    }
+
+    @Test
+    public void overflowLeavesTheOutputUnchanged() {
+        ByteBuffer in = ByteBuffer.wrap("box café".getBytes(StandardCharsets.UTF_8));
+        ByteBuffer out = ByteBuffer.allocate(5);
+        out.put((byte) '-');
+        try {
+            pluralizer.plural(in, 0, 3, out);
+            fail();
+        } catch (BufferOverflowException e) {
+            assertEquals(1, out.position());
+        }
+        try {
+            pluralizer.plural(in, 4, 5, out);
+            fail();
+        } catch (BufferOverflowException e) {
+            assertEquals(1, out.position());
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void outOfRange() {
+        pluralizer.plural(ByteBuffer.wrap(new byte[4]), 2, 3, ByteBuffer.allocate(8));
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test suite for classifying many words at once
+ */
+public class CaseScannerTest {
+
+    private static void assertSameAsScalar(String[] words) {
+        CaseShape[] shapes = new CaseShape[words.length - 1];
+        CaseScanner.classify(words, 1, words.length, shapes);
+        for (int i = 1; i < words.length; i++) {
+            assertEquals(words[i], CaseShape.of(words[i], 0, words[i].length()), shapes[i - 1]);
+        }
+    }
+
+    private static String randomWord(Random random, int length) {
+        String alphabet = "abcxyzABCXYZ019 _-@[`{éÉİ中";
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            // Mostly ASCII letters, like real words.
+            chars[i] = alphabet.charAt(random.nextInt(random.nextInt(10) == 0 ? alphabet.length() : 12));
+        }
+        return new String(chars);
+    }
+
+    @Test
+    public void shapes() {
+        assertSameAsScalar(new String[]{"skipped", "", "apple", "APPLE", "Apple", "aPPLE", "123", "A", "a", "Zz",
+                "café", "[]", "@`{", "École"});
+    }
+
+    @Test
+    public void randomWords() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            String[] words = new String[1 + random.nextInt(3000)];
+            for (int i = 0; i < words.length; i++) {
+                // Some words are longer than a vector, a few longer than the whole buffer.
+                int length = random.nextInt(100) == 0 ? random.nextInt(20000) : random.nextInt(40);
+                words[i] = randomWord(random, length);
+            }
+            assertSameAsScalar(words);
+        }
+    }
+
+    @Test
+    public void localeWithSpecialCasing() {
+        Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("tr"));
+            CaseShape[] shapes = new CaseShape[2];
+            CaseScanner.classify(new String[]{"apple", "APPLE"}, 0, 2, shapes);
+            assertEquals(Arrays.asList(null, null), Arrays.asList(shapes));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+}
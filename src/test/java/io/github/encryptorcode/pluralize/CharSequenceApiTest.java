@@ -0,0 +1,99 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test suite for the {@link CharSequence} and {@link Appendable} overloads
+ */
+public class CharSequenceApiTest {
+    private final Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().build();
+
+    @Test
+    public void sameAsStrings() {
+        List<Map<String, String>> sections = Arrays.asList(PluralizeTestData.BASIC_TESTS,
+                PluralizeTestData.PLURAL_TESTS, PluralizeTestData.SINGULAR_TESTS);
+        for (Map<String, String> tests : sections) {
+            for (Map.Entry<String, String> entry : tests.entrySet()) {
+                for (String word : new String[]{entry.getKey(), entry.getValue(), entry.getKey().toUpperCase()}) {
+                    StringBuilder text = new StringBuilder("<<").append(word).append(">>");
+                    StringBuilder out = new StringBuilder("=");
+                    pluralizer.plural(text, 2, word.length(), out);
+                    assertEquals("=" + pluralizer.plural(word), out.toString());
+
+                    out.setLength(0);
+                    pluralizer.singular(text, 2, word.length(), out);
+                    assertEquals(pluralizer.singular(word), out.toString());
+
+                    assertEquals(pluralizer.isPlural(word), pluralizer.isPlural(text, 2, word.length()));
+                    assertEquals(pluralizer.isSingular(word), pluralizer.isSingular(text, 2, word.length()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void appendable() throws IOException {
+        StringWriter out = new StringWriter();
+        CharBuffer text = CharBuffer.wrap("three Geese and an Apple");
+        pluralizer.singular(text, 6, 5, out);
+        out.append(' ');
+        pluralizer.plural(text, 19, 5, out);
+        assertEquals("Goose Apples", out.toString());
+    }
+
+    @Test
+    public void checks() {
+        String text = "the cats sat on a mat";
+        assertTrue(pluralizer.isPlural(text, 4, 4));
+        assertFalse(pluralizer.isSingular(text, 4, 4));
+        assertTrue(pluralizer.isSingular(text, 18, 3));
+        assertTrue(pluralizer.isSingular(text, 0, 0));
+    }
+
+    @Test
+    public void primitiveCounts() throws IOException {
+        for (long count : new long[]{-1, 0, 1, 2, 5, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            for (boolean inclusive : new boolean[]{false, true}) {
+                String expected = (inclusive ? count + " " : "") + (count == 1 ? "duck" : "ducks");
+                StringBuilder out = new StringBuilder();
+                pluralizer.pluralize("ducks", count, inclusive, out);
+                assertEquals(expected, out.toString());
+
+                StringWriter writer = new StringWriter();
+                pluralizer.pluralize(CharBuffer.wrap("duck"), count, inclusive, writer);
+                assertEquals(expected, writer.toString());
+            }
+            if (count >= Integer.MIN_VALUE && count <= Integer.MAX_VALUE) {
+                StringBuilder out = new StringBuilder();
+                pluralizer.pluralize("duck", count, true, out);
+                assertEquals(pluralizer.pluralize("duck", (int) count, true), out.toString());
+            }
+        }
+    }
+
+    @Test
+    public void countRule() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().countRule(CountRule.ONE_OR_MINUS_ONE).build();
+        StringBuilder out = new StringBuilder();
+        pluralizer.pluralize("degrees", -1, true, out);
+        assertEquals("-1 degree", out.toString());
+        assertEquals("-1 degree", pluralizer.pluralize("degree", -1, true));
+        assertEquals("2 degrees", pluralizer.pluralize("degree", 2, true));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void outOfRange() {
+        pluralizer.plural("word", 2, 3, new StringBuilder());
+    }
+}
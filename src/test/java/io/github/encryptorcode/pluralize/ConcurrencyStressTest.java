@@ -0,0 +1,239 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntFunction;
+
+import static io.github.encryptorcode.pluralize.Pluralize.p;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Stress tests of rule changes racing with reads.
+ * <p>
+ * Like jcstress, every round starts a few actors on a fresh instance at the same time, each reader records what it
+ * observed as an outcome, and the outcomes of all the rounds are checked against the ones the memory model allows.
+ * Threads are reused across rounds, so that the actors really overlap.
+ */
+public class ConcurrencyStressTest {
+    private static final int ROUNDS = 2000;
+    private static final int ACTORS = 4;
+
+    private static ExecutorService executor;
+
+    @BeforeClass
+    public static void startThreads() {
+        executor = Executors.newFixedThreadPool(ACTORS);
+    }
+
+    @AfterClass
+    public static void stopThreads() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Run the actors of every round at the same time, then its arbiter, and count the outcomes they returned.
+     *
+     * @param round Creates a round, given its number
+     * @return The number of times each outcome was observed
+     */
+    private static Map<String, Integer> stress(IntFunction<Round> round) throws Exception {
+        Map<String, Integer> outcomes = new ConcurrentHashMap<>();
+        for (int i = 0; i < ROUNDS; i++) {
+            Round current = round.apply(i);
+            CyclicBarrier barrier = new CyclicBarrier(current.actors.size());
+            Future<?>[] futures = new Future<?>[current.actors.size()];
+            for (int j = 0; j < futures.length; j++) {
+                Actor actor = current.actors.get(j);
+                futures[j] = executor.submit(() -> {
+                    barrier.await();
+                    record(outcomes, actor.act());
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get(10, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                } catch (TimeoutException e) {
+                    fail("Round " + i + " did not finish");
+                }
+            }
+            if (current.arbiter != null) {
+                record(outcomes, current.arbiter.act());
+            }
+        }
+        return outcomes;
+    }
+
+    private static void record(Map<String, Integer> outcomes, String outcome) {
+        if (outcome != null) {
+            outcomes.merge(outcome, 1, Integer::sum);
+        }
+    }
+
+    private static void assertOutcomes(Map<String, Integer> outcomes, String... acceptable) {
+        Set<String> forbidden = new HashSet<>(outcomes.keySet());
+        forbidden.removeAll(Arrays.asList(acceptable));
+        assertTrue("Forbidden outcomes " + forbidden + " in " + new TreeMap<>(outcomes), forbidden.isEmpty());
+    }
+
+    /**
+     * Does its part of a round, and returns what it observed, or null.
+     */
+    private interface Actor {
+        String act() throws Exception;
+    }
+
+    /**
+     * Actors running at the same time, and an optional arbiter observing the state once they are done.
+     */
+    private static final class Round {
+        private final List<Actor> actors;
+        private Actor arbiter;
+
+        private Round(Actor... actors) {
+            this.actors = Arrays.asList(actors);
+        }
+
+        private Round then(Actor arbiter) {
+            this.arbiter = arbiter;
+            return this;
+        }
+    }
+
+    private static Actor writer(Runnable change) {
+        return () -> {
+            change.run();
+            return null;
+        };
+    }
+
+    /**
+     * A new irregular rule is seen by both directions at once, and never unseen, with or without the cache.
+     */
+    @Test
+    public void irregularRuleAgainstReads() throws Exception {
+        Map<String, Integer> outcomes = stress(round -> {
+            Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().cacheSize(round % 2 == 0 ? 0 : 64).build();
+            Actor reader = () -> pluralizer.plural("wug") + " " + pluralizer.singular("wugzies") + " " +
+                    pluralizer.plural("wug");
+            return new Round(writer(() -> pluralizer.addIrregularRule("wug", "wugzies")), reader, reader, reader);
+        });
+        assertOutcomes(outcomes,
+                "wugs wugzy wugs",
+                "wugs wugzy wugzies",
+                "wugs wug wugzies",
+                "wugzies wug wugzies");
+    }
+
+    /**
+     * A batch only sees a single snapshot of the rules, while they are being replaced.
+     */
+    @Test
+    public void replacedRulesAgainstBatches() throws Exception {
+        Map<String, Integer> outcomes = stress(round -> {
+            Pluralizer pluralizer = Pluralizer.builder().addPluralRule(p("$"), "a").build();
+            Actor writer = writer(() -> {
+                for (int i = 0; i < 10; i++) {
+                    String suffix = i % 2 == 0 ? "b" : "a";
+                    pluralizer.replaceRules(builder -> builder.addPluralRule(p("$"), suffix));
+                }
+            });
+            Actor reader = () -> {
+                String[] results = new String[3];
+                pluralizer.plural(new String[]{"x", "y", "z"}, results);
+                return String.join(" ", results);
+            };
+            return new Round(writer, reader, reader, reader);
+        });
+        assertOutcomes(outcomes, "xa ya za", "xb yb zb");
+    }
+
+    /**
+     * Rules added by writers racing with each other are never lost, and reads only ever see a word with or
+     * without its rule.
+     */
+    @Test
+    public void concurrentWritersLoseNoRule() throws Exception {
+        Map<String, Integer> outcomes = stress(round -> {
+            Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().build();
+            Actor reader = () -> {
+                StringBuilder outcome = new StringBuilder("read");
+                for (int i = 0; i < 4; i++) {
+                    String plural = pluralizer.plural("zorp" + i);
+                    if (!plural.equals("zorp" + i) && !plural.equals("zorp" + i + "s")) {
+                        outcome.append(' ').append(plural);
+                    }
+                }
+                return outcome.toString();
+            };
+            Actor arbiter = () -> {
+                int uncountables = 0;
+                for (int i = 0; i < 4; i++) {
+                    if (pluralizer.plural("zorp" + i).equals("zorp" + i)) {
+                        uncountables++;
+                    }
+                }
+                return "rules " + uncountables;
+            };
+            return new Round(
+                    writer(() -> {
+                        pluralizer.addUncountableRule("zorp0");
+                        pluralizer.addUncountableRule("zorp1");
+                    }),
+                    writer(() -> {
+                        pluralizer.addUncountableRule("zorp2");
+                        pluralizer.addUncountableRule("zorp3");
+                    }),
+                    reader, reader).then(arbiter);
+        });
+        assertOutcomes(outcomes, "read", "rules 4");
+    }
+
+    /**
+     * Once a rule change returned, later calls on any thread see it, and not a result cached before the change.
+     */
+    @Test
+    public void cachedResultsAfterChange() throws Exception {
+        Map<String, Integer> outcomes = stress(round -> {
+            Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().cacheSize(64).build();
+            pluralizer.plural("paper");
+            boolean[] changed = new boolean[1];
+            Object lock = new Object();
+            Actor writer = writer(() -> {
+                pluralizer.addUncountableRule("paper");
+                synchronized (lock) {
+                    changed[0] = true;
+                }
+            });
+            Actor reader = () -> {
+                boolean after;
+                synchronized (lock) {
+                    after = changed[0];
+                }
+                String plural = pluralizer.plural("paper");
+                return after ? "after " + plural : "racing " + plural;
+            };
+            return new Round(writer, reader, reader, reader);
+        });
+        assertOutcomes(outcomes, "after paper", "racing paper", "racing papers");
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test suite for inflecting the last word of identifiers
+ */
+public class IdentifiersTest {
+
+    private static String lastWord(String identifier) {
+        int end = Identifiers.wordEnd(identifier, 0, identifier.length());
+        if (end == 0) {
+            return "";
+        }
+        return identifier.substring(Identifiers.wordStart(identifier, 0, end), end);
+    }
+
+    @Test
+    public void lastWords() {
+        assertEquals("Account", lastWord("UserAccount"));
+        assertEquals("Account", lastWord("userAccount"));
+        assertEquals("item", lastWord("order_line_item"));
+        assertEquals("ITEM", lastWord("ORDER_LINE_ITEM"));
+        assertEquals("items", lastWord("order-line-items"));
+        assertEquals("Request", lastWord("HTTPRequest"));
+        assertEquals("ID", lastWord("UserID"));
+        assertEquals("IDs", lastWord("UserIDs"));
+        assertEquals("Encoder", lastWord("Base64Encoder"));
+        assertEquals("Item", lastWord("Item2"));
+        assertEquals("item", lastWord("item"));
+        assertEquals("Größe", lastWord("MaxGröße"));
+        assertEquals("", lastWord("__42"));
+        assertEquals("", lastWord(""));
+    }
+
+    @Test
+    public void pluralIdentifiers() {
+        assertEquals("UserAccounts", Pluralize.pluralIdentifier("UserAccount"));
+        assertEquals("userAccounts", Pluralize.pluralIdentifier("userAccount"));
+        assertEquals("order_line_items", Pluralize.pluralIdentifier("order_line_item"));
+        assertEquals("ORDER_LINE_ITEMS", Pluralize.pluralIdentifier("ORDER_LINE_ITEM"));
+        assertEquals("HTTPRequests", Pluralize.pluralIdentifier("HTTPRequest"));
+        assertEquals("UserIDs", Pluralize.pluralIdentifier("UserID"));
+        assertEquals("ProductCategories", Pluralize.pluralIdentifier("ProductCategory"));
+        assertEquals("TeamPeople", Pluralize.pluralIdentifier("TeamPerson"));
+        assertEquals("user_sheep", Pluralize.pluralIdentifier("user_sheep"));
+        assertEquals("Items2", Pluralize.pluralIdentifier("Item2"));
+        assertEquals("_items_", Pluralize.pluralIdentifier("_item_"));
+        assertEquals("Boxes", Pluralize.pluralIdentifier("Box"));
+        assertEquals("__42", Pluralize.pluralIdentifier("__42"));
+        assertEquals("", Pluralize.pluralIdentifier(""));
+    }
+
+    @Test
+    public void singularIdentifiers() {
+        assertEquals("UserAccount", Pluralize.singularIdentifier("UserAccounts"));
+        assertEquals("order_line_item", Pluralize.singularIdentifier("order_line_items"));
+        assertEquals("HTTPRequest", Pluralize.singularIdentifier("HTTPRequests"));
+        assertEquals("UserID", Pluralize.singularIdentifier("UserIDs"));
+        assertEquals("ProductCategory", Pluralize.singularIdentifier("ProductCategories"));
+        assertEquals("TeamPerson", Pluralize.singularIdentifier("TeamPeople"));
+        assertEquals("Box", Pluralize.singularIdentifier("Boxes"));
+    }
+
+    @Test
+    public void appendRange() {
+        StringBuilder out = new StringBuilder("> ");
+        Pluralize.pluralIdentifier("[UserAccount]", 1, 11, out);
+        assertEquals("> UserAccounts", out.toString());
+
+        out.setLength(0);
+        Pluralize.singularIdentifier("[order_line_items]", 1, 16, out);
+        assertEquals("order_line_item", out.toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void invalidRange() {
+        Pluralize.pluralIdentifier("UserAccount", 4, 10, new StringBuilder());
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Test suite for {@link InflectionTable}
+ */
+public class InflectionTableTest {
+
+    private static List<String> words() {
+        List<String> words = new ArrayList<>();
+        for (Map.Entry<String, String> entry : PluralizeTestData.BASIC_TESTS.entrySet()) {
+            words.add(entry.getKey());
+            words.add(entry.getValue());
+        }
+        return words;
+    }
+
+    private static InflectionTable generate(Pluralizer pluralizer, List<String> words) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InflectionTable.write(pluralizer, words, out);
+        return InflectionTable.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    public void lookups() throws IOException {
+        InflectionTable table = generate(Pluralizer.builder().withDefaultRules().build(), words());
+        assertEquals("people", table.plural("person"));
+        assertEquals("person", table.singular("people"));
+        assertEquals("sheep", table.plural("sheep"));
+        assertNull(table.plural("Person"));
+        assertNull(table.plural("unlisted"));
+    }
+
+    @Test
+    public void sameResults() throws IOException {
+        List<String> words = words();
+        Pluralizer rules = Pluralizer.builder().withDefaultRules().build();
+        InflectionTable table = generate(rules, words);
+        Pluralizer tabled = Pluralizer.builder().withDefaultRules().withTable(table).build();
+        assertSame(table, tabled.getRules().matchingTable);
+
+        words.add("unlisted");
+        for (String word : words) {
+            for (String variant : new String[]{word, word.toUpperCase()}) {
+                assertEquals(rules.plural(variant), tabled.plural(variant));
+                assertEquals(rules.singular(variant), tabled.singular(variant));
+                StringBuilder out = new StringBuilder();
+                tabled.plural(variant, 0, variant.length(), out);
+                assertEquals(rules.plural(variant), out.toString());
+            }
+        }
+    }
+
+    @Test
+    public void onlyUsedWithSameRules() throws IOException {
+        Pluralizer custom = Pluralizer.builder().withDefaultRules().addIrregularRule("regular", "irregular").build();
+        InflectionTable table = generate(custom, words());
+
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().withTable(table).build();
+        assertNull(pluralizer.getRules().matchingTable);
+
+        pluralizer.addIrregularRule("regular", "irregular");
+        assertSame(table, pluralizer.getRules().matchingTable);
+
+        pluralizer.addPluralRule("regex", "regexii");
+        assertNull(pluralizer.getRules().matchingTable);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalid() {
+        InflectionTable.of(ByteBuffer.wrap(new byte[32]));
+    }
+}
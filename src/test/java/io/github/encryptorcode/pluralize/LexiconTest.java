@@ -0,0 +1,91 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test suite for {@link Lexicon}
+ */
+public class LexiconTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Lexicon lexicon() throws IOException {
+        Map<String, String> irregulars = new LinkedHashMap<>();
+        irregulars.put("Wug", "Wugen");
+        irregulars.put("person", "persons");
+        irregulars.put("datum", "datums");
+        irregulars.put("me", "mes");
+        Path path = folder.newFile("lexicon.bin").toPath();
+        try (OutputStream out = Files.newOutputStream(path)) {
+            Lexicon.write(irregulars, out);
+        }
+        return Lexicon.open(path);
+    }
+
+    @Test
+    public void lookups() throws IOException {
+        Lexicon lexicon = lexicon();
+        assertEquals(4, lexicon.size());
+        assertEquals("wugen", lexicon.plural("wug"));
+        assertEquals("wug", lexicon.singular("wugen"));
+        assertNull(lexicon.plural("wugen"));
+    }
+
+    @Test
+    public void irregularPriority() throws IOException {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().withLexicon(lexicon()).build();
+        assertEquals("Wugen", pluralizer.plural("Wug"));
+        assertEquals("WUG", pluralizer.singular("WUGEN"));
+        assertEquals("wugen", pluralizer.plural("wugen"));
+        assertTrue(pluralizer.isPlural("wugen"));
+        assertFalse(pluralizer.isPlural("wug"));
+        assertEquals("datums", pluralizer.plural("datum"));
+        assertEquals("persons", pluralizer.plural("person"));
+
+        // Irregular rules of the builder win.
+        assertEquals("us", pluralizer.plural("me"));
+        pluralizer.addIrregularRule("datum", "data");
+        assertEquals("data", pluralizer.plural("datum"));
+    }
+
+    @Test
+    public void fingerprint() throws IOException {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().build();
+        long fingerprint = pluralizer.getRules().getFingerprint();
+        pluralizer.setLexicon(lexicon());
+        assertNotEquals(fingerprint, pluralizer.getRules().getFingerprint());
+        assertEquals("wugen", pluralizer.plural("wug"));
+    }
+
+    @Test
+    public void keptByConcurrentRuleReplacement() throws IOException {
+        Lexicon lexicon = lexicon();
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().build();
+        boolean[] raced = new boolean[1];
+        pluralizer.replaceRules(builder -> {
+            if (!raced[0]) {
+                // Published while the replacement is being built.
+                raced[0] = true;
+                pluralizer.setLexicon(lexicon);
+            }
+            builder.withDefaultRules();
+        });
+        assertEquals(lexicon, pluralizer.getRules().getLexicon());
+        assertEquals("Wugen", pluralizer.plural("Wug"));
+    }
+}
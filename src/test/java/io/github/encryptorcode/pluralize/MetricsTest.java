@@ -0,0 +1,133 @@
+package io.github.encryptorcode.pluralize;
+
+import io.github.encryptorcode.pluralize.entities.RegexRule;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test suite for the optional metrics
+ */
+public class MetricsTest {
+
+    @Test
+    public void disabledByDefault() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().build();
+        pluralizer.plural("apple");
+        assertSame(InflectionMetrics.EMPTY, pluralizer.getPluralMetrics());
+        assertSame(InflectionMetrics.EMPTY, pluralizer.getSingularMetrics());
+        pluralizer.resetMetrics();
+    }
+
+    @Test
+    public void countsPaths() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().metrics(true).build();
+        assertEquals("apples", pluralizer.plural("apple"));
+        assertEquals("apples", pluralizer.plural("apple"));
+        assertEquals("us", pluralizer.plural("me"));
+        assertEquals("advice", pluralizer.plural("advice"));
+        assertTrue(pluralizer.isPlural("apples"));
+        assertEquals("apple", pluralizer.singular("apple"));
+
+        InflectionMetrics plural = pluralizer.getPluralMetrics();
+        assertEquals(5, plural.getCalls());
+        assertEquals(5, plural.getLatency().getCount());
+        assertEquals(1, plural.getIrregularHits());
+        assertEquals(1, plural.getUncountableHits());
+        assertEquals(3, plural.getRuleScans());
+        assertEquals(0, plural.getUnmatched());
+        assertEquals(0.2, plural.getIrregularHitRate(), 0.0001);
+        assertEquals(0.25, plural.getUncountableHitRate(), 0.0001);
+
+        long hits = 0;
+        for (Map.Entry<RegexRule, Long> entry : plural.getRuleHits().entrySet()) {
+            hits += entry.getValue();
+        }
+        assertEquals(3, hits);
+        assertEquals(3, plural.getRulesEvaluated().getCount());
+        assertTrue(plural.getRulesEvaluated().getSum() >= 3);
+
+        InflectionMetrics singular = pluralizer.getSingularMetrics();
+        assertEquals(1, singular.getCalls());
+        assertEquals(1, singular.getUnmatched());
+        assertTrue(singular.getRuleHits().isEmpty());
+    }
+
+    @Test
+    public void countsSurviveRuleChanges() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().metrics(true).build();
+        pluralizer.plural("apple");
+        pluralizer.addUncountableRule("paper");
+        pluralizer.plural("paper");
+        assertEquals(2, pluralizer.getPluralMetrics().getCalls());
+        assertEquals(1, pluralizer.getPluralMetrics().getUncountableHits());
+    }
+
+    @Test
+    public void ruleHitsNameTheRules() {
+        Pluralizer pluralizer = Pluralizer.builder().addPluralRule(Pluralize.p("$"), "s").metrics(true).build();
+        pluralizer.plural("apple");
+        RegexRule rule = pluralizer.getPluralMetrics().getRuleHits().keySet().iterator().next();
+        assertEquals("$ -> s", rule.toString());
+    }
+
+    @Test
+    public void replacedRulesAreDropped() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().metrics(true).build();
+        pluralizer.plural("apple");
+        pluralizer.replaceRules(builder -> builder.addPluralRule(Pluralize.p("$"), "z"));
+        assertTrue(pluralizer.getPluralMetrics().getRuleHits().isEmpty());
+        assertEquals(1, pluralizer.getPluralMetrics().getCalls());
+
+        pluralizer.plural("apple");
+        assertEquals(Long.valueOf(1), pluralizer.getPluralMetrics().getRuleHits().values().iterator().next());
+    }
+
+    @Test
+    public void callsOnReplacedRulesAreNotRuleHits() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().metrics(true).build();
+        CompiledRules replaced = pluralizer.getRules().pluralRules;
+        pluralizer.replaceRules(builder -> builder.addPluralRule(Pluralize.p("$"), "z"));
+        pluralizer.replaceRules(builder -> builder.addPluralRule(Pluralize.p("$"), "y"));
+
+        // A call which started before the replacements finishes.
+        replaced.metrics.ruleHit(replaced.rules.get(0), 1);
+        assertTrue(pluralizer.getPluralMetrics().getRuleHits().isEmpty());
+        assertEquals(1, pluralizer.getPluralMetrics().getRuleScans());
+    }
+
+    @Test
+    public void reset() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().metrics(true).build();
+        pluralizer.plural("apple");
+        pluralizer.singular("apples");
+        pluralizer.resetMetrics();
+        assertEquals(0, pluralizer.getPluralMetrics().getCalls());
+        assertEquals(0, pluralizer.getSingularMetrics().getCalls());
+        assertTrue(pluralizer.getPluralMetrics().getRuleHits().isEmpty());
+
+        pluralizer.plural("apple");
+        assertEquals(1, pluralizer.getPluralMetrics().getCalls());
+    }
+
+    @Test
+    public void histogram() {
+        Histogram.Recorder recorder = new Histogram.Recorder();
+        recorder.record(0);
+        recorder.record(1);
+        recorder.record(5);
+        recorder.record(6);
+        Histogram histogram = recorder.snapshot(false);
+        assertEquals(4, histogram.getCount());
+        assertEquals(12, histogram.getSum());
+        assertEquals(3, histogram.getMean(), 0.0001);
+        assertEquals(4, histogram.getBuckets().length);
+        assertEquals(1, histogram.getPercentile(0.5));
+        assertEquals(7, histogram.getPercentile(1));
+        assertEquals(0, Histogram.EMPTY.getPercentile(0.99));
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Test suite for the system properties of the default instance
+ */
+public class PluralizePropertiesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Load a fresh copy of the facade with the given system properties, and pluralize a word with it.
+     *
+     * @return The plural of "apple", then the warm-up of the facade
+     */
+    private static Object[] facade(Map<String, String> properties) throws Exception {
+        Map<String, String> previous = new HashMap<>();
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            previous.put(property.getKey(), System.setProperty(property.getKey(), property.getValue()));
+        }
+        URL classes = Pluralize.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes},
+                ClassLoader.getSystemClassLoader().getParent())) {
+            Class<?> facade = loader.loadClass(Pluralize.class.getName());
+            return new Object[]{
+                    facade.getMethod("plural", String.class).invoke(null, "apple"),
+                    facade.getMethod("getWarmUp").invoke(null)};
+        } finally {
+            for (Map.Entry<String, String> property : previous.entrySet()) {
+                if (property.getValue() == null) {
+                    System.clearProperty(property.getKey());
+                } else {
+                    System.setProperty(property.getKey(), property.getValue());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void missingWarmUpFile() throws Exception {
+        String path = folder.getRoot().toPath().resolve("missing.txt").toString();
+        Object[] facade = facade(Collections.singletonMap("pluralize.warmUp", path));
+        assertEquals("apples", facade[0]);
+        assertNull(facade[1]);
+    }
+
+    @Test
+    public void unopenableSharedCache() throws Exception {
+        String path = folder.newFolder().toString();
+        assertEquals("apples", facade(Collections.singletonMap("pluralize.sharedCache", path))[0]);
+    }
+
+    @Test
+    public void unknownSpecializedRules() throws Exception {
+        String className = "com.example.Missing";
+        assertEquals("apples", facade(Collections.singletonMap("pluralize.specializedRules", className))[0]);
+    }
+}
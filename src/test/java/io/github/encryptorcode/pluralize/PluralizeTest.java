@@ -85,6 +85,7 @@ public class PluralizeTest {
     public void prependCount() {
         assertEquals("plural words", "5 tests", Pluralize.pluralize("test", 5, true));
         assertEquals("singular words", "1 test", Pluralize.pluralize("test", 1, true));
+        assertEquals("no count", "tests", Pluralize.pluralize("test", null, true));
     }
 
     @Test
@@ -0,0 +1,141 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static io.github.encryptorcode.pluralize.Pluralize.p;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test suite for instances of {@link Pluralizer}
+ */
+public class PluralizerTest {
+
+    @Test
+    public void emptyBuilder() {
+        Pluralizer pluralizer = Pluralizer.builder().build();
+        assertEquals("test", pluralizer.plural("test"));
+        assertEquals("tests", pluralizer.singular("tests"));
+    }
+
+    @Test
+    public void defaultRules() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().build();
+        assertEquals("tests", pluralizer.plural("test"));
+        assertEquals("person", pluralizer.singular("people"));
+        assertEquals("5 ducks", pluralizer.pluralize("duck", 5, true));
+    }
+
+    @Test
+    public void instancesAreIndependent() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().build();
+        pluralizer.addPluralRule(p("gex$"), "gexii");
+        pluralizer.addIrregularRule("regular", "irregular");
+        assertEquals("regexii", pluralizer.plural("regex"));
+        assertEquals("irregular", pluralizer.plural("regular"));
+        assertEquals("regexes", Pluralizer.builder().withDefaultRules().build().plural("regex"));
+    }
+
+    @Test
+    public void rulesArePublishedAsNewSnapshots() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().build();
+        RuleSet before = pluralizer.getRules();
+        pluralizer.addUncountableRule("paper");
+
+        RuleSet after = pluralizer.getRules();
+        assertTrue(after.getVersion() > before.getVersion());
+        assertFalse(before.getUncountables().contains("paper"));
+        assertTrue(after.getUncountables().contains("paper"));
+        assertEquals(before.getPluralRules().size(), after.getPluralRules().size());
+        assertSame(after, pluralizer.getRules());
+    }
+
+    @Test
+    public void restoreCase() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().build();
+        assertEquals("Wives", pluralizer.plural("Wife"));
+        assertEquals("WIVES", pluralizer.plural("WIFE"));
+        assertEquals("wives", pluralizer.plural("wIfE"));
+        assertEquals("Quizzes", pluralizer.plural("Quiz"));
+        assertEquals("OXEN", pluralizer.plural("OX"));
+        assertEquals("Naïves", pluralizer.plural("Naïve"));
+    }
+
+    @Test
+    public void restoreCaseWithLocaleSpecificCasing() {
+        Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("tr"));
+            Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().build();
+            assertEquals("FILES", pluralizer.plural("FILE"));
+            assertEquals("Wives", pluralizer.plural("Wife"));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    public void upperCaseReplacementsTakeTheCaseOfTheWord() {
+        Pluralizer pluralizer = Pluralizer.builder()
+                .withDefaultRules()
+                .addPluralRule(p("^(wid)get$"), "$1GET")
+                .addPluralRule(p("^(gad)get$"), "$1GETS")
+                .build();
+        assertEquals("widget", pluralizer.plural("widget"));
+        assertTrue(pluralizer.isPlural("widget"));
+        assertTrue(pluralizer.isPlural("WIDGET"));
+        assertFalse(pluralizer.isPlural("gadget"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void snapshotsAreImmutable() {
+        Pluralizer.builder().withDefaultRules().build().getRules().getUncountables().add("paper");
+    }
+
+    @Test
+    public void patternsAreCompiledOnFirstUse() {
+        // The broken singular rule is never compiled, because only plurals are used.
+        Pluralizer pluralizer = Pluralizer.builder()
+                .addSingularPattern("(", "")
+                .addPluralPattern("^(ox)$", "$1en")
+                .build();
+        for (int i = 0; i < 100; i++) {
+            assertEquals("oxen", pluralizer.plural("ox"));
+            assertEquals("box", pluralizer.plural("box"));
+        }
+    }
+
+    @Test
+    public void updatesPublishASingleSnapshot() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().build();
+        long version = pluralizer.getRules().getVersion();
+        pluralizer.update(builder -> {
+            for (int i = 0; i < 1000; i++) {
+                builder.addIrregularRule("wug" + i, "wugzies" + i);
+            }
+            builder.addUncountableRule("paper");
+        });
+
+        RuleSet rules = pluralizer.getRules();
+        assertTrue(rules.getVersion() > version);
+        assertTrue(rules.getVersion() < version + 3);
+        assertEquals("wugzies999", pluralizer.plural("wug999"));
+        assertEquals("paper", pluralizer.plural("paper"));
+    }
+
+    @Test
+    public void fingerprintDoesNotDependOnTheOrderOfWords() {
+        Pluralizer first = Pluralizer.builder().addUncountableRule("paper").addUncountableRule("sheep")
+                .addIrregularRule("wug", "wugzies").addIrregularRule("blip", "blipz").build();
+        Pluralizer second = Pluralizer.builder().addIrregularRule("blip", "blipz").addIrregularRule("wug", "wugzies")
+                .addUncountableRule("sheep").addUncountableRule("paper").build();
+        assertEquals(first.getRules().getFingerprint(), second.getRules().getFingerprint());
+
+        second.addUncountableRule("rice");
+        assertFalse(first.getRules().getFingerprint() == second.getRules().getFingerprint());
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Test;
+
+import static io.github.encryptorcode.pluralize.Pluralize.p;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test suite for the result cache
+ */
+public class ResultCacheTest {
+
+    @Test
+    public void cachedResults() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().cacheSize(100).build();
+        assertEquals("tests", pluralizer.plural("test"));
+        assertEquals("tests", pluralizer.plural("test"));
+        assertEquals("Tests", pluralizer.plural("Test"));
+        assertEquals("test", pluralizer.singular("tests"));
+
+        CacheStats stats = pluralizer.getCacheStats();
+        assertEquals(1, stats.getL1Hits());
+        assertEquals(3, stats.getMisses());
+        assertEquals(3, stats.getSize());
+    }
+
+    @Test
+    public void sharedTierServesOtherThreads() throws InterruptedException {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().cacheSize(100).build();
+        pluralizer.plural("test");
+        Thread thread = new Thread(() -> pluralizer.plural("test"));
+        thread.start();
+        thread.join();
+        assertEquals(1, pluralizer.getCacheStats().getL2Hits());
+    }
+
+    @Test
+    public void invalidatedByRuleChanges() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().cacheSize(100).build();
+        assertEquals("regexes", pluralizer.plural("regex"));
+        pluralizer.addPluralRule(p("gex$"), "gexii");
+        assertEquals("regexii", pluralizer.plural("regex"));
+        pluralizer.addIrregularRule("regex", "regexen");
+        assertEquals("regexen", pluralizer.plural("regex"));
+        assertEquals("papers", pluralizer.plural("paper"));
+        pluralizer.addUncountableRule("paper");
+        assertEquals("paper", pluralizer.plural("paper"));
+        assertEquals(5, pluralizer.getCacheStats().getMisses());
+    }
+
+    @Test
+    public void bounded() {
+        ResultCache cache = new ResultCache(8);
+        for (int i = 0; i < 100; i++) {
+            cache.put("word" + i, "words" + i, 1);
+        }
+        CacheStats stats = cache.stats();
+        assertEquals(8, stats.getSize());
+        assertEquals(92, stats.getEvictions());
+    }
+
+    @Test
+    public void boundedWhileEntriesAreReplaced() throws InterruptedException {
+        ResultCache cache = new ResultCache(8);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int thread = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    // Replacements of a few words race with the eviction of other words.
+                    cache.put("hot" + (i & 3), "hots" + i, i);
+                    cache.put("word" + thread + "-" + i, "words", 1);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(cache.stats().getSize() <= 8);
+    }
+
+    @Test
+    public void frequentEntriesSurviveEviction() {
+        ResultCache cache = new ResultCache(8);
+        cache.put("hot", "hots", 1);
+        for (int i = 0; i < 100; i++) {
+            assertEquals("hots", cache.get("hot", 1));
+            cache.put("word" + i, "words" + i, 1);
+        }
+        assertEquals("hots", cache.get("hot", 1));
+        assertTrue(cache.stats().getEvictions() > 0);
+    }
+
+    @Test
+    public void olderVersionsMiss() {
+        ResultCache cache = new ResultCache(8);
+        cache.put("test", "tests", 1);
+        assertNull(cache.get("test", 2));
+    }
+}
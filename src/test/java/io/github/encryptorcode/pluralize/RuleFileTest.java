@@ -0,0 +1,122 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test suite for rule files and replacing the rules
+ */
+public class RuleFileTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static RuleFile read(String... lines) throws IOException {
+        return RuleFile.read(new StringReader(String.join("\n", lines)));
+    }
+
+    private static void assertInvalid(String message, String... lines) throws IOException {
+        try {
+            read(lines);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith(message));
+        }
+    }
+
+    @Test
+    public void replacesAllRules() throws IOException {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().cacheSize(100).build();
+        assertEquals("apples", pluralizer.plural("apple"));
+        RuleSet before = pluralizer.getRules();
+
+        pluralizer.replaceRules(read(
+                "# Only a few rules",
+                "",
+                "plural   s?$     s",
+                "plural   (ox)$   $1en",
+                "singular s$",
+                "irregular  Person  People",
+                "uncountable sheep",
+                "uncountable /fish$/"));
+
+        assertNotSame(before, pluralizer.getRules());
+        assertEquals("apples", pluralizer.plural("apple"));
+        assertEquals("oxen", pluralizer.plural("ox"));
+        assertEquals("Oxen", pluralizer.plural("Ox"));
+        assertEquals("apple", pluralizer.singular("apples"));
+        // Built-in rules are gone.
+        assertEquals("quizs", pluralizer.plural("quiz"));
+        assertEquals("people", pluralizer.plural("person"));
+        assertEquals("sheep", pluralizer.plural("sheep"));
+        assertEquals("goldfish", pluralizer.plural("goldfish"));
+        assertTrue(pluralizer.isPlural("goldfish"));
+    }
+
+    @Test
+    public void defaults() throws IOException {
+        RuleFile file = read("defaults", "irregular regex regexii");
+        assertTrue(file.hasDefaults());
+        assertEquals(1, file.size());
+
+        Pluralizer pluralizer = Pluralizer.builder().build();
+        pluralizer.replaceRules(file);
+        assertEquals("regexii", pluralizer.plural("regex"));
+        assertEquals("quizzes", pluralizer.plural("quiz"));
+        assertEquals(Pluralizer.builder().withDefaultRules().addIrregularRule("regex", "regexii").build()
+                .getRules().getFingerprint(), pluralizer.getRules().getFingerprint());
+    }
+
+    @Test
+    public void keepsMetrics() throws IOException {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().metrics(true).build();
+        pluralizer.plural("apple");
+        pluralizer.replaceRules(read("defaults"));
+        pluralizer.plural("apple");
+        assertEquals(2, pluralizer.getPluralMetrics().getCalls());
+    }
+
+    @Test
+    public void readsFiles() throws IOException {
+        Path path = folder.newFile("rules.txt").toPath();
+        Files.write(path, Arrays.asList("plural pokémon$ pokémon", "uncountable déjà"), StandardCharsets.UTF_8);
+        Pluralizer pluralizer = Pluralizer.builder().build();
+        pluralizer.replaceRules(RuleFile.read(path));
+        assertEquals("pokémon", pluralizer.plural("pokémon"));
+        assertEquals("déjà", pluralizer.plural("déjà"));
+    }
+
+    @Test
+    public void invalidLines() throws IOException {
+        assertInvalid("Line 2: Unknown rule type: plurals", "plural s?$ s", "plurals s?$ s");
+        assertInvalid("Line 1: plural takes 1 to 2 arguments but has 3", "plural a b c");
+        assertInvalid("Line 1: irregular takes 2 arguments but has 1", "irregular person");
+        assertInvalid("Line 1: Unclosed group", "singular (s$");
+        assertInvalid("Line 1: Replacement \"$2\" refers to group 2", "singular (s)$ $2");
+        assertInvalid("Line 2: defaults must come before the rules", "uncountable sheep", "defaults");
+    }
+
+    @Test
+    public void failedReadsKeepTheRules() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().build();
+        try {
+            pluralizer.replaceRules(read("plural (s$ s"));
+            fail();
+        } catch (IllegalArgumentException | IOException e) {
+            assertFalse(pluralizer.getRules().pluralRules.rules.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test suite for the cache shared through a memory mapped file
+ */
+public class SharedCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Pluralizer pluralizer(SharedCache cache) {
+        return Pluralizer.builder().withDefaultRules().sharedCache(cache).build();
+    }
+
+    /**
+     * Pluralizes the words with the cache in the file, for sharing from another process.
+     */
+    public static void main(String[] args) throws IOException {
+        try (SharedCache cache = SharedCache.open(Paths.get(args[0]), 64)) {
+            Pluralizer pluralizer = pluralizer(cache);
+            for (int i = 1; i < args.length; i++) {
+                pluralizer.plural(args[i]);
+            }
+        }
+    }
+
+    @Test
+    public void sharedBetweenProcesses() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("cache");
+        Process process = new ProcessBuilder(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), SharedCacheTest.class.getName(),
+                path.toString(), "person", "apple")
+                .inheritIO()
+                .start();
+        assertEquals(0, process.waitFor());
+
+        try (SharedCache cache = SharedCache.open(path, 1024)) {
+            assertEquals(64, cache.getCapacity());
+            Pluralizer pluralizer = pluralizer(cache);
+            assertEquals("people", pluralizer.plural("person"));
+            assertEquals("apples", pluralizer.plural("apple"));
+            assertEquals(2, cache.getHits());
+            assertEquals("boxes", pluralizer.plural("box"));
+            assertEquals(1, cache.getMisses());
+        }
+    }
+
+    @Test
+    public void stampedWithTheRules() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("cache");
+        try (SharedCache first = SharedCache.open(path, 100); SharedCache second = SharedCache.open(path, 100)) {
+            assertEquals(128, first.getCapacity());
+            assertEquals("apples", pluralizer(first).plural("apple"));
+            assertEquals("apples", pluralizer(second).plural("apple"));
+            assertEquals(1, second.getHits());
+
+            Pluralizer custom = Pluralizer.builder().withDefaultRules().sharedCache(second)
+                    .addIrregularRule("apple", "applen")
+                    .build();
+            assertEquals("applen", custom.plural("apple"));
+            assertEquals("apples", pluralizer(first).plural("apple"));
+            // Same word the other way around.
+            assertEquals("apple", pluralizer(first).singular("apple"));
+        }
+    }
+
+    @Test
+    public void longWordsAreNotCached() throws IOException {
+        try (SharedCache cache = SharedCache.open(folder.getRoot().toPath().resolve("cache"), 16)) {
+            StringBuilder word = new StringBuilder();
+            while (word.length() <= SharedCache.MAX_CHARS / 2) {
+                word.append("word");
+            }
+            cache.put(1, word.toString(), word + "s");
+            assertNull(cache.get(1, word.toString()));
+
+            cache.put(1, "ox", "oxen");
+            assertEquals("oxen", cache.get(1, "ox"));
+            assertNull(cache.get(2, "ox"));
+        }
+    }
+
+    @Test
+    public void fullCacheOverwrites() throws IOException {
+        try (SharedCache cache = SharedCache.open(folder.getRoot().toPath().resolve("cache"), 4)) {
+            Pluralizer pluralizer = pluralizer(cache);
+            for (int round = 0; round < 2; round++) {
+                for (int i = 0; i < 100; i++) {
+                    assertEquals("word" + i + "s", pluralizer.plural("word" + i));
+                }
+            }
+            assertEquals(0, cache.getSkippedWrites());
+        }
+    }
+
+    @Test
+    public void concurrentReadsSeeWholeEntries() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("cache");
+        List<Thread> threads = new ArrayList<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<SharedCache> caches = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            // A few slots and one mapping per thread, like separate processes fighting over the slots.
+            SharedCache cache = SharedCache.open(path, 8);
+            caches.add(cache);
+            String[] words = {"apple", "person", "bus", "quiz", "knife", "child", "ox", "wolf", "datum", "cactus"};
+            threads.add(new Thread(() -> {
+                Pluralizer pluralizer = pluralizer(cache);
+                Pluralizer reference = Pluralizer.builder().withDefaultRules().build();
+                try {
+                    for (int i = 0; i < 20000; i++) {
+                        String word = words[i % words.length];
+                        assertEquals(reference.plural(word), pluralizer.plural(word));
+                        assertEquals(reference.singular(word), pluralizer.singular(word));
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (SharedCache cache : caches) {
+            cache.close();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    @Test
+    public void concurrentWritersOfOneInstance() throws Exception {
+        try (SharedCache cache = SharedCache.open(folder.getRoot().toPath().resolve("cache"), 8)) {
+            Pluralizer pluralizer = pluralizer(cache);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                threads.add(new Thread(() -> {
+                    try {
+                        for (int i = 0; i < 20000; i++) {
+                            assertEquals("word" + i % 50 + "s", pluralizer.plural("word" + i % 50));
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            if (failure.get() != null) {
+                throw new AssertionError(failure.get());
+            }
+            assertTrue(cache.getHits() > 0);
+        }
+    }
+
+    @Test
+    public void invalidFiles() throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), new byte[]{1, 2, 3});
+        try {
+            SharedCache.open(file.toPath(), 16);
+            fail();
+        } catch (IOException e) {
+            assertEquals("Not a shared cache: " + file, e.getMessage());
+        }
+    }
+}
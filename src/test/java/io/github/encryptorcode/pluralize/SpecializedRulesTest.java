@@ -0,0 +1,185 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test suite for the classes written by {@link SpecializedRulesGenerator}
+ */
+public class SpecializedRulesTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static List<String> words() {
+        List<String> words = new ArrayList<>();
+        List<Map<String, String>> sections = Arrays.asList(PluralizeTestData.BASIC_TESTS,
+                PluralizeTestData.SINGULAR_TESTS, PluralizeTestData.PLURAL_TESTS);
+        for (Map<String, String> tests : sections) {
+            for (Map.Entry<String, String> entry : tests.entrySet()) {
+                words.add(entry.getKey());
+                words.add(entry.getValue());
+            }
+        }
+        words.add("Sheep");
+        words.add("PERSON");
+        words.add("x");
+        words.add("éclair");
+        words.add("line\n");
+        words.add("smile😀");
+        return words;
+    }
+
+    /**
+     * Generate, compile and load the class for the rules.
+     */
+    private SpecializedRules generate(Pluralizer pluralizer, String className) throws Exception {
+        Path sources = folder.newFolder().toPath();
+        Path source = sources.resolve(className.replace('.', '/') + ".java");
+        Files.createDirectories(source.getParent());
+        StringWriter out = new StringWriter();
+        SpecializedRulesGenerator.write(pluralizer.getRules(), className, out);
+        Files.write(source, out.toString().getBytes(StandardCharsets.UTF_8));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull("Tests need a JDK", compiler);
+        File classes = folder.newFolder();
+        int status = compiler.run(null, null, null, "-d", classes.getPath(), "-cp",
+                System.getProperty("java.class.path"), source.toString());
+        assertEquals(out.toString(), 0, status);
+
+        URLClassLoader loader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader());
+        return (SpecializedRules) loader.loadClass(className).getConstructor().newInstance();
+    }
+
+    private static void assertSameResults(Pluralizer expected, Pluralizer actual, List<String> words) {
+        for (String word : words) {
+            for (String variant : new String[]{word, word.toUpperCase(), word.toLowerCase()}) {
+                assertEquals(variant, expected.plural(variant), actual.plural(variant));
+                assertEquals(variant, expected.singular(variant), actual.singular(variant));
+                assertEquals(variant, expected.isPlural(variant), actual.isPlural(variant));
+                assertEquals(variant, expected.isSingular(variant), actual.isSingular(variant));
+            }
+        }
+    }
+
+    @Test
+    public void defaultRules() throws Exception {
+        Pluralizer rules = Pluralizer.builder().withDefaultRules().build();
+        SpecializedRules specialized = generate(rules, "com.example.DefaultRules");
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().withSpecializedRules(specialized).build();
+        assertSame(specialized, pluralizer.getRules().pluralRules.specialized);
+        assertSame(specialized, pluralizer.getRules().singularRules.specialized);
+
+        assertSameResults(rules, pluralizer, words());
+        assertEquals("people", pluralizer.plural("person"));
+        assertEquals("Knives", pluralizer.plural("Knife"));
+    }
+
+    @Test
+    public void customRules() throws Exception {
+        Consumer<Pluralizer.Builder> custom = builder -> builder
+                .addPluralRule("regex", "regexii")
+                .addPluralRule(Pattern.compile("(o)x$"), "$1xen")
+                .addPluralRule(Pattern.compile("(?<=q)uiz$"), "uizzes")
+                .addSingularRule(Pattern.compile("([a-c]+)zes$"), "$1z")
+                .addSingularRule(Pattern.compile("\\b(an?)imals??$"), "$1imal")
+                .addUncountableRule(Pattern.compile("[^\\w]mon$"));
+        Pluralizer.Builder builder = Pluralizer.builder().withDefaultRules();
+        custom.accept(builder);
+        Pluralizer rules = builder.build();
+        SpecializedRules specialized = generate(rules, "CustomRules");
+
+        builder = Pluralizer.builder().withDefaultRules().withSpecializedRules(specialized);
+        custom.accept(builder);
+        Pluralizer pluralizer = builder.build();
+        assertSame(specialized, pluralizer.getRules().pluralRules.specialized);
+
+        List<String> words = words();
+        for (String word : new String[]{"regex", "box", "Box", "OX", "quiz", "abczes", "animals", "animal",
+                "an animals", "-mon", "é-mon", "émon"}) {
+            words.add(word);
+        }
+        assertSameResults(rules, pluralizer, words);
+        assertEquals("regexii", pluralizer.plural("regex"));
+        assertEquals("boxen", pluralizer.plural("box"));
+        assertEquals("BOXES", pluralizer.plural("BOX"));
+    }
+
+    @Test
+    public void onlyUsedWithSameRules() throws Exception {
+        SpecializedRules specialized = generate(Pluralizer.builder().withDefaultRules().build(), "Rules");
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().withSpecializedRules(specialized).build();
+
+        pluralizer.addPluralRule("regex", "regexii");
+        assertNull(pluralizer.getRules().pluralRules.specialized);
+        assertEquals("regexii", pluralizer.plural("regex"));
+
+        Pluralizer measured = Pluralizer.builder().withDefaultRules().withSpecializedRules(specialized)
+                .metrics(true)
+                .build();
+        assertNull(measured.getRules().pluralRules.specialized);
+    }
+
+    @Test
+    public void keptByRuleReplacement() throws Exception {
+        SpecializedRules specialized = generate(Pluralizer.builder().withDefaultRules().build(), "Rules");
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().withSpecializedRules(specialized).build();
+
+        pluralizer.replaceRules(builder -> builder.withDefaultRules().addPluralRule("regex", "regexii"));
+        assertNull(pluralizer.getRules().pluralRules.specialized);
+        pluralizer.replaceRules(Pluralizer.Builder::withDefaultRules);
+        assertSame(specialized, pluralizer.getRules().pluralRules.specialized);
+        assertSame(specialized, pluralizer.getRules().singularRules.specialized);
+    }
+
+    @Test
+    public void fallbackRulesKeepTheirPattern() throws Exception {
+        Pluralizer rules = Pluralizer.builder().withDefaultRules()
+                .addPluralRule(Pattern.compile("(?<=q)uiz$"), "uizzes")
+                .build();
+        StringWriter out = new StringWriter();
+        SpecializedRulesGenerator.write(rules.getRules(), "Rules", out);
+        assertTrue(out.toString().contains("apply(PLURAL_" + (rules.getRules().getPluralRules().size() - 1)));
+    }
+
+    @Test
+    public void boundaries() {
+        assertTrue(SpecializedRules.isBoundary("a b", 1));
+        assertTrue(SpecializedRules.isBoundary("ab", 0));
+        assertTrue(!SpecializedRules.isBoundary("ab", 1));
+        assertEquals(Pattern.compile("\\bé").matcher("aé").find(), SpecializedRules.isBoundary("aé", 1));
+    }
+
+    @Test
+    public void mainWritesTheSource() throws Exception {
+        Path sources = folder.newFolder().toPath();
+        SpecializedRulesGenerator.main(new String[]{sources.toString(), "com.example.Rules"});
+        String source = new String(Files.readAllBytes(sources.resolve("com/example/Rules.java")),
+                StandardCharsets.UTF_8);
+        assertTrue(source.startsWith("// Generated by SpecializedRulesGenerator"));
+        assertTrue(source.contains("package com.example;"));
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test suite for streaming text inflection
+ */
+public class TextInflectorTest {
+    private static final Pluralizer PLURALIZER = Pluralizer.builder().withDefaultRules().build();
+
+    private static String transform(TextInflector inflector, String text) throws IOException {
+        StringWriter out = new StringWriter();
+        inflector.transform(new StringReader(text), out);
+        return out.toString();
+    }
+
+    @Test
+    public void plural() throws IOException {
+        TextInflector inflector = new TextInflector(PLURALIZER, TextInflector.Mode.PLURAL);
+        assertEquals("Boxes, foxes\n\t\"PEOPLE\"!", transform(inflector, "Box, fox\n\t\"PERSON\"!"));
+    }
+
+    @Test
+    public void selectedWords() throws IOException {
+        TextInflector inflector = new TextInflector(PLURALIZER, TextInflector.Mode.SINGULAR, "children"::equals);
+        assertEquals("the child of the wolves", transform(inflector, "the children of the wolves"));
+    }
+
+    @Test
+    public void count() throws IOException {
+        TextInflector inflector = new TextInflector(PLURALIZER, TextInflector.Mode.COUNT);
+        assertEquals("1 apple, 3 apples, the 2nd apple, 0 mice and apple",
+                transform(inflector, "1 apples, 3 apple, the 2nd apple, 0 mouse and apple"));
+    }
+
+    @Test
+    public void decimals() throws IOException {
+        TextInflector inflector = new TextInflector(PLURALIZER, TextInflector.Mode.COUNT);
+        assertEquals("0.1 apples, 2.1 apples, 1.0 apple, 1.05 apples and -1.5 apples",
+                transform(inflector, "0.1 apple, 2.1 apple, 1.0 apples, 1.05 apple and -1.5 apple"));
+        assertEquals("it costs 1. Apple", transform(inflector, "it costs 1. Apple"));
+    }
+
+    @Test
+    public void thousands() throws IOException {
+        TextInflector inflector = new TextInflector(PLURALIZER, TextInflector.Mode.COUNT);
+        assertEquals("1,001 apples, 2,000.5 apples and 3, apple",
+                transform(inflector, "1,001 apple, 2,000.5 apple and 3, apple"));
+    }
+
+    @Test
+    public void countRule() throws IOException {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().countRule(CountRule.ONE_OR_MINUS_ONE).build();
+        TextInflector inflector = new TextInflector(pluralizer, TextInflector.Mode.COUNT);
+        assertEquals("-1 degree, 1 degree and -2 degrees",
+                transform(inflector, "-1 degrees, 1 degrees and -2 degree"));
+        assertEquals(pluralizer.pluralize("degree", -1), transform(inflector, "-1 degrees").substring(3));
+        assertEquals("-1 degrees", transform(new TextInflector(PLURALIZER, TextInflector.Mode.COUNT), "-1 degree"));
+    }
+
+    @Test
+    public void contractionsAreCopied() throws IOException {
+        TextInflector inflector = new TextInflector(PLURALIZER, TextInflector.Mode.PLURAL);
+        assertEquals("boxes, don't, we\u2019ll", transform(inflector, "box, don't, we\u2019ll"));
+        assertEquals("'boxes', boxes''", transform(inflector, "'box', box''"));
+    }
+
+    @Test
+    public void possessivesAreCopied() throws IOException {
+        TextInflector inflector = new TextInflector(PLURALIZER, TextInflector.Mode.PLURAL);
+        assertEquals("cat's toys", transform(inflector, "cat's toy"));
+        TextInflector counter = new TextInflector(PLURALIZER, TextInflector.Mode.COUNT);
+        assertEquals("2 cat's boxes", transform(counter, "2 cat's boxes"));
+    }
+
+    @Test
+    public void wordsAcrossReads() throws IOException {
+        // Hands out a single character per read.
+        Reader reader = new StringReader("3 cactus and 1 geese don't") {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(1, length));
+            }
+        };
+        StringWriter out = new StringWriter();
+        new TextInflector(PLURALIZER, TextInflector.Mode.COUNT).transform(reader, out);
+        assertEquals("3 cacti and 1 goose don't", out.toString());
+    }
+
+    @Test
+    public void longWordsAreCopied() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i <= TextInflector.MAX_WORD_LENGTH; i++) {
+            text.append('x');
+        }
+        text.append(" box");
+        TextInflector inflector = new TextInflector(PLURALIZER, TextInflector.Mode.PLURAL);
+        assertEquals(text.toString().replace("box", "boxes"), transform(inflector, text.toString()));
+    }
+
+    @Test
+    public void charBuffers() throws IOException {
+        StringWriter out = new StringWriter();
+        CharBuffer buffer = CharBuffer.wrap("[box]");
+        new TextInflector(PLURALIZER, TextInflector.Mode.PLURAL).transform(buffer, out);
+        assertEquals("[boxes]", out.toString());
+        assertEquals(0, buffer.remaining());
+    }
+}
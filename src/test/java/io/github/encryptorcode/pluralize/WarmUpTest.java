@@ -0,0 +1,126 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test suite for inflecting word lists ahead of time
+ */
+public class WarmUpTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void fillsTheCaches() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().cacheSize(100_000).build();
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            words.add("word" + (char) ('a' + i % 26) + i);
+        }
+
+        WarmUp warmUp = pluralizer.warmUp(words);
+        assertTrue(warmUp.isDone());
+        assertEquals(10_000, warmUp.getTotal());
+        assertEquals(10_000, warmUp.getCompleted());
+        assertEquals(1.0, warmUp.getProgress(), 0.0);
+        assertFalse(warmUp.getElapsed().isNegative());
+
+        CacheStats before = pluralizer.getCacheStats();
+        for (String word : words) {
+            assertEquals(Pluralize.plural(word), pluralizer.plural(word));
+            assertEquals(Pluralize.singular(word), pluralizer.singular(word));
+        }
+        CacheStats after = pluralizer.getCacheStats();
+        assertEquals(before.getMisses(), after.getMisses());
+        assertEquals(before.getHits() + 2 * words.size(), after.getHits());
+    }
+
+    @Test
+    public void warmedWordIsAHit() {
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().cacheSize(100).build();
+        pluralizer.warmUp(Collections.singletonList("cactus"));
+        assertEquals(0, pluralizer.getCacheStats().getHits());
+        assertEquals("cacti", pluralizer.plural("cactus"));
+        assertEquals(1, pluralizer.getCacheStats().getHits());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void needsACache() {
+        Pluralizer.builder().withDefaultRules().build().warmUp(Collections.singletonList("cactus"));
+    }
+
+    @Test
+    public void wordList() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("words.txt");
+        Files.write(path, Arrays.asList("# Entities", "person", "", "  apple  "), StandardCharsets.UTF_8);
+        Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().cacheSize(100).build();
+
+        WarmUp warmUp = pluralizer.warmUp(path);
+        assertEquals(2, warmUp.getTotal());
+        assertEquals(4, pluralizer.getCacheStats().getSize());
+    }
+
+    @Test
+    public void background() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            started.await();
+
+            Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().cacheSize(100).build();
+            WarmUp warmUp = pluralizer.warmUpInBackground(Arrays.asList("test", "box"), executor);
+            // Calls don't wait for the warm-up.
+            assertEquals("tests", pluralizer.plural("test"));
+            assertFalse(warmUp.isDone());
+            assertEquals(0, warmUp.getCompleted());
+            assertEquals(0.0, warmUp.getProgress(), 0.0);
+
+            release.countDown();
+            assertEquals(warmUp, warmUp.join());
+            assertEquals(2, warmUp.getCompleted());
+            assertTrue(warmUp.toString().contains("done=true"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void emptyList() {
+        WarmUp warmUp = Pluralizer.builder().withDefaultRules().cacheSize(100).build().warmUp(Collections.emptyList());
+        assertTrue(warmUp.isDone());
+        assertEquals(1.0, warmUp.getProgress(), 0.0);
+    }
+
+    @Test(expected = CompletionException.class)
+    public void failures() {
+        Pluralizer.builder().withDefaultRules().cacheSize(100).build().warmUp(Arrays.asList("test", null));
+    }
+}
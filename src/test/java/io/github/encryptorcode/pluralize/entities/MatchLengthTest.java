@@ -0,0 +1,65 @@
+package io.github.encryptorcode.pluralize.entities;
+
+import org.junit.Test;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.github.encryptorcode.pluralize.Pluralize.p;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test suite for the longest match of rules, and the tail of the input they are matched on
+ */
+public class MatchLengthTest {
+
+    private static int length(String regex) {
+        return MatchLength.of(regex, Pattern.CASE_INSENSITIVE);
+    }
+
+    @Test
+    public void boundedPatterns() {
+        assertEquals(1, length("s?$"));
+        assertEquals(4, length("(x|ch|ss|sh|zz)(?:es)?$"));
+        assertEquals(8, length("\\b((?:tit)?m|l)(?:ice|ouse)$"));
+        assertEquals(4, length("^thou$"));
+        assertEquals(2, length("[^\\u0000-\\u007F]$"));
+        assertEquals(5, length("(?<=q)u(?<name>iz){1,2}$"));
+        assertEquals(3, length("\\u00e9\\x41\\t$"));
+    }
+
+    @Test
+    public void unboundedPatterns() {
+        assertEquals(MatchLength.UNBOUNDED, length("singles"));
+        assertEquals(MatchLength.UNBOUNDED, length("a|b$"));
+        assertEquals(MatchLength.UNBOUNDED, length("a+$"));
+        assertEquals(MatchLength.UNBOUNDED, length("a{2,}$"));
+        assertEquals(MatchLength.UNBOUNDED, length("(a)\\1$"));
+        assertEquals(MatchLength.UNBOUNDED, length("(?i)a$"));
+        assertEquals(MatchLength.UNBOUNDED, length("\\Ga$"));
+        assertEquals(MatchLength.UNBOUNDED, MatchLength.of("a$", Pattern.MULTILINE));
+    }
+
+    @Test
+    public void sameMatchesOnTheTail() {
+        String[] regexes = {"s?$", "(x|ch|ss|sh|zz)(?:es)?$", "\\b((?:tit)?m|l)(?:ice|ouse)$", "^thou$",
+                "(?<=q)uiz$", "(wi|kni|(?:after|half|high|low|mid|non|night|[^\\w]|^)li)ves$", "a+$"};
+        String padding = "abcdefghijklmnopqrstuvwxyz";
+        for (String regex : regexes) {
+            RegexRule rule = new RegexRule(p(regex), "$0");
+            for (String word : new String[]{"boxes", "fish", "thou", "quiz", "lives", "knives", "mice"}) {
+                for (String input : new String[]{word, padding + word, padding + " " + word, padding + word + "\n",
+                        padding + "aaaa"}) {
+                    Matcher expected = rule.getPattern().matcher(input);
+                    Matcher actual = rule.matcher(input);
+                    boolean found = expected.find();
+                    assertEquals(regex + " " + input, found, actual.find());
+                    if (found) {
+                        assertEquals(expected.start(), actual.start());
+                        assertEquals(expected.end(), actual.end());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.encryptorcode.pluralize.entities;
+
+import org.junit.Test;
+
+import java.util.regex.Matcher;
+
+import static io.github.encryptorcode.pluralize.Pluralize.p;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test suite for replacement templates
+ */
+public class ReplacementTemplateTest {
+
+    private static String apply(String pattern, String replacement, String word) {
+        Matcher matcher = p(pattern).matcher(word);
+        assertTrue(matcher.find());
+        StringBuilder out = new StringBuilder();
+        new ReplacementTemplate(replacement).appendTo(word, matcher, out);
+        return out.toString();
+    }
+
+    @Test
+    public void literals() {
+        assertEquals("ses", apply("sis$", "ses", "analysis"));
+        assertEquals("", apply("s$", "", "tests"));
+        assertEquals("$x\\", apply("s$", "$x\\", "tests"));
+    }
+
+    @Test
+    public void groupReferences() {
+        assertEquals("wife", apply("(wi|kni)ves$", "$1fe", "wives"));
+        assertEquals("kni", apply("(?:(kni|wi|li)fe|(ar|l|ea|eo|oa|hoo)f)$", "$1$2", "knife"));
+        assertEquals("sheep", apply("sheep$", "$0", "sheep"));
+    }
+
+    @Test
+    public void twoDigitGroups() {
+        ReplacementTemplate template = new ReplacementTemplate("$12x$3");
+        assertEquals(12, template.getMaxGroup());
+    }
+
+    private static boolean matches(String pattern, String replacement, String word) {
+        Matcher matcher = p(pattern).matcher(word);
+        assertTrue(matcher.find());
+        return new ReplacementTemplate(replacement).matches(word, matcher, word, matcher.start(), matcher.end());
+    }
+
+    @Test
+    public void matchesWithoutBuilding() {
+        assertTrue(matches("sheep$", "$0", "sheep"));
+        assertTrue(matches("(wi|kni)fe$", "$1fe", "knife"));
+        assertFalse(matches("(wi|kni)ves$", "$1fe", "wives"));
+        assertFalse(matches("s$", "", "tests"));
+        assertFalse(matches("s?$", "s", "test"));
+        assertTrue(matches("(x)?es$", "$1es", "boxes"));
+        assertTrue(matches("(x)?es$", "$1es", "tomatoes"));
+        assertFalse(matches("(x)es$", "$1", "boxes"));
+        assertFalse(matches("s$", "ss", "bus"));
+    }
+
+    @Test
+    public void lowerCase() {
+        assertTrue(new ReplacementTemplate("$1ves").isLowerCase());
+        assertFalse(new ReplacementTemplate("$1Ves").isLowerCase());
+        assertFalse(new ReplacementTemplate("\u00e9s").isLowerCase());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingGroup() {
+        new RegexRule(p("(a)$"), "$2");
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.encryptorcode.pluralize.entities;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static io.github.encryptorcode.pluralize.Pluralize.p;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test suite for the suffix index
+ */
+public class SuffixIndexTest {
+
+    private static RegexRules rules() {
+        RegexRules rules = new RegexRules();
+        rules.add(p("s?$"), "s");
+        rules.add(p("(x|ch|ss|sh|zz)$"), "$1es");
+        rules.add(p("([^aeiouy]|qu)y$"), "$1ies");
+        rules.add(p("\\b((?:tit)?m|l)(?:ice|ouse)$"), "$1ice");
+        rules.add(p("^thou$"), "you");
+        rules.add(p("singles"), "singular");
+        return rules;
+    }
+
+    private static BitSet candidates(String word) {
+        return new SuffixIndex(rules()).candidates(word);
+    }
+
+    @Test
+    public void suffixCandidates() {
+        SuffixIndex index = new SuffixIndex(rules());
+        assertEquals("{0, 1, 5}", index.candidates("box").toString());
+        assertEquals("{0, 1, 5}", index.candidates("BOX").toString());
+        assertEquals("{0, 2, 5}", index.candidates("fly").toString());
+        assertEquals("{0, 3, 5}", index.candidates("titmouse").toString());
+        assertEquals("{0, 4, 5}", index.candidates("thou").toString());
+    }
+
+    @Test
+    public void unsupportedRulesAreAlwaysCandidates() {
+        BitSet candidates = candidates("word");
+        assertTrue(candidates.get(0));
+        assertTrue(candidates.get(5));
+        assertFalse(candidates.get(1));
+    }
+
+    @Test
+    public void trailingLineTerminator() {
+        assertEquals("{0, 1, 2, 3, 4, 5}", candidates("box\n").toString());
+    }
+
+    @Test
+    public void addedRules() {
+        RegexRules rules = rules();
+        assertFalse(new SuffixIndex(rules).candidates("regex").get(6));
+        rules.add(p("gex$"), "gexii");
+        assertTrue(new SuffixIndex(rules).candidates("regex").get(6));
+        assertFalse(new SuffixIndex(rules).candidates("index").get(6));
+    }
+}
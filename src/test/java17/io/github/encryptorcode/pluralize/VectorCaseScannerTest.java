@@ -0,0 +1,52 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test suite for classifying many words at once with the Vector API
+ */
+public class VectorCaseScannerTest {
+
+    @Before
+    public void vectorsOfSixteenChars() {
+        Assume.assumeTrue(VectorCaseScanner.isSupported());
+    }
+
+    private static void assertSameAsScalar(String[] words) {
+        CaseShape[] shapes = new CaseShape[words.length];
+        VectorCaseScanner.classify(words, 0, words.length, shapes);
+        for (int i = 0; i < words.length; i++) {
+            assertEquals(words[i], CaseShape.of(words[i], 0, words[i].length()), shapes[i]);
+        }
+    }
+
+    @Test
+    public void shapes() {
+        assertSameAsScalar(new String[]{"", "apple", "APPLE", "Apple", "aPPLE", "123", "A", "a", "Zz", "café", "[]",
+                "@`{", "École", "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ"});
+    }
+
+    @Test
+    public void randomWords() {
+        String alphabet = "abcxyzABCXYZ019 _-@[`{éÉİ中";
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            String[] words = new String[1 + random.nextInt(3000)];
+            for (int i = 0; i < words.length; i++) {
+                // Some words are longer than a vector, a few longer than the whole buffer.
+                char[] chars = new char[random.nextInt(100) == 0 ? random.nextInt(20000) : random.nextInt(40)];
+                for (int j = 0; j < chars.length; j++) {
+                    chars[j] = alphabet.charAt(random.nextInt(random.nextInt(10) == 0 ? alphabet.length() : 12));
+                }
+                words[i] = new String(chars);
+            }
+            assertSameAsScalar(words);
+        }
+    }
+}
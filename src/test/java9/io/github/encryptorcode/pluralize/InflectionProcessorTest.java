@@ -0,0 +1,218 @@
+package io.github.encryptorcode.pluralize;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test suite for the reactive processor
+ */
+public class InflectionProcessorTest {
+    private final Pluralizer pluralizer = Pluralizer.builder().withDefaultRules().build();
+
+    /**
+     * Requests one item at a time, unless told otherwise.
+     */
+    private static class Collector<T> implements Flow.Subscriber<T> {
+        final List<T> items = new CopyOnWriteArrayList<>();
+        final CompletableFuture<List<T>> done = new CompletableFuture<>();
+        final long initial;
+        final boolean eager;
+        volatile Flow.Subscription subscription;
+
+        Collector(long initial, boolean eager) {
+            this.initial = initial;
+            this.eager = eager;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initial);
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+            if (eager) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(items);
+        }
+    }
+
+    private static List<String> words(int count) {
+        List<String> words = new ArrayList<>();
+        String[] base = {"apple", "person", "sheep", "quiz", "knife"};
+        for (int i = 0; i < count; i++) {
+            words.add(base[i % base.length]);
+        }
+        return words;
+    }
+
+    @Test
+    public void inflectsInOrder() throws Exception {
+        InflectionProcessor<String, String> processor = InflectionProcessor.plural(pluralizer).batchSize(16).build();
+        Collector<String> collector = new Collector<>(1, true);
+        processor.subscribe(collector);
+
+        List<String> words = words(1000);
+        try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            words.forEach(publisher::submit);
+        }
+
+        List<String> results = collector.done.get(10, TimeUnit.SECONDS);
+        assertEquals(words.size(), results.size());
+        for (int i = 0; i < words.size(); i++) {
+            assertEquals(pluralizer.plural(words.get(i)), results.get(i));
+        }
+    }
+
+    @Test
+    public void respectsDemand() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        InflectionProcessor<List<String>, String> processor = InflectionProcessor
+                .<List<String>, String>mapping(record -> String.join(" ", pluralizer.plural(record.get(0)), record.get(1)))
+                .batchSize(4)
+                .executor(command -> {
+                    batchSizes.add(0);
+                    command.run();
+                })
+                .build();
+        Collector<String> collector = new Collector<>(3, false);
+        processor.subscribe(collector);
+
+        SubmissionPublisher<List<String>> publisher = new SubmissionPublisher<>();
+        publisher.subscribe(processor);
+        for (int i = 0; i < 10; i++) {
+            publisher.submit(Arrays.asList("box", Integer.toString(i)));
+        }
+        publisher.close();
+
+        try {
+            collector.done.get(200, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (TimeoutException e) {
+            assertEquals(Arrays.asList("boxes 0", "boxes 1", "boxes 2"), collector.items);
+        }
+
+        collector.subscription.request(Long.MAX_VALUE);
+        List<String> results = collector.done.get(10, TimeUnit.SECONDS);
+        assertEquals(10, results.size());
+        assertEquals("boxes 9", results.get(9));
+        assertTrue(batchSizes.size() >= 3);
+    }
+
+    @Test
+    public void failures() throws Exception {
+        InflectionProcessor<String, String> processor = InflectionProcessor.<String, String>mapping(word -> {
+            throw new IllegalStateException(word);
+        }).build();
+        Collector<String> collector = new Collector<>(Long.MAX_VALUE, false);
+        processor.subscribe(collector);
+
+        try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            publisher.submit("apple");
+        }
+
+        try {
+            collector.done.get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(Collections.emptyList(), collector.items);
+    }
+
+    private static <T> Throwable failureOf(InflectionProcessor<T, String> processor, T item) throws Exception {
+        Collector<String> collector = new Collector<>(Long.MAX_VALUE, false);
+        processor.subscribe(collector);
+        try (SubmissionPublisher<T> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            publisher.submit(item);
+        }
+        try {
+            collector.done.get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertEquals(Collections.emptyList(), collector.items);
+            return e.getCause();
+        }
+        return null;
+    }
+
+    @Test
+    public void errors() throws Exception {
+        Throwable failure = failureOf(InflectionProcessor.<String, String>mapping(word -> {
+            throw new LinkageError(word);
+        }).build(), "apple");
+        assertTrue(failure instanceof LinkageError);
+    }
+
+    @Test
+    public void resultsOfAnotherSize() throws Exception {
+        Throwable failure = failureOf(new InflectionProcessor.Builder<String, String>(
+                words -> Collections.emptyList()).build(), "apple");
+        assertTrue(failure instanceof IllegalStateException);
+    }
+
+    @Test
+    public void nullResults() throws Exception {
+        Throwable failure = failureOf(InflectionProcessor.<String, String>mapping(word -> null).build(), "apple");
+        assertTrue(failure instanceof NullPointerException);
+    }
+
+    @Test
+    public void singleSubscriber() throws Exception {
+        InflectionProcessor<String, String> processor = InflectionProcessor.singular(pluralizer).build();
+        processor.subscribe(new Collector<>(1, true));
+        Collector<String> second = new Collector<>(1, true);
+        processor.subscribe(second);
+        try {
+            second.done.get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void virtualThreads() throws Exception {
+        InflectionProcessor<String, String> processor = InflectionProcessor.singular(pluralizer)
+                .virtualThreads()
+                .build();
+        Collector<String> collector = new Collector<>(Long.MAX_VALUE, false);
+        processor.subscribe(collector);
+        try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            publisher.submit("geese");
+            publisher.submit("apples");
+        }
+        assertEquals(Arrays.asList("goose", "apple"), collector.done.get(10, TimeUnit.SECONDS));
+    }
+}